@@ -176,4 +176,34 @@ public class ExceptionAdvice {
         return responseService.getFailResult(-1024, "미디어 서버와의 통신에 실패하였습니다.");
     }
 
+    @ExceptionHandler(MediaServerUnavailableException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result mediaServerUnavailableException() {
+        return responseService.getFailResult(-1025, "사용 가능한 미디어 서버가 없습니다.");
+    }
+
+    @ExceptionHandler(MediaServerSaturatedException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result mediaServerSaturatedException() {
+        return responseService.getFailResult(-1026, "미디어 서버의 수용 인원이 가득 찼습니다.");
+    }
+
+    @ExceptionHandler(MediaServerNotFoundException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result mediaServerNotFoundException() {
+        return responseService.getFailResult(-1027, "등록되지 않은 미디어 서버입니다.");
+    }
+
+    @ExceptionHandler(MediaServerNotDrainedException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result mediaServerNotDrainedException() {
+        return responseService.getFailResult(-1028, "drain 상태의 미디어 서버만 제거할 수 있습니다.");
+    }
+
+    @ExceptionHandler(MediaServerNotEmptyException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result mediaServerNotEmptyException() {
+        return responseService.getFailResult(-1029, "방이 남아있는 미디어 서버는 제거할 수 없습니다.");
+    }
+
 }
@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class FileDeleteFailureException extends RuntimeException {
+    public FileDeleteFailureException() {
+    }
+
+    public FileDeleteFailureException(String message) {
+        super(message);
+    }
+
+    public FileDeleteFailureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
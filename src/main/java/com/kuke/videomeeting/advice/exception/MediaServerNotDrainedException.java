@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class MediaServerNotDrainedException extends RuntimeException {
+    public MediaServerNotDrainedException() {
+    }
+
+    public MediaServerNotDrainedException(String message) {
+        super(message);
+    }
+
+    public MediaServerNotDrainedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class MediaServerNotEmptyException extends RuntimeException {
+    public MediaServerNotEmptyException() {
+    }
+
+    public MediaServerNotEmptyException(String message) {
+        super(message);
+    }
+
+    public MediaServerNotEmptyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class MediaServerNotFoundException extends RuntimeException {
+    public MediaServerNotFoundException() {
+    }
+
+    public MediaServerNotFoundException(String message) {
+        super(message);
+    }
+
+    public MediaServerNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
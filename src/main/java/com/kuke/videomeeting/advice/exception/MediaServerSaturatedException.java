@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class MediaServerSaturatedException extends RuntimeException {
+    public MediaServerSaturatedException() {
+    }
+
+    public MediaServerSaturatedException(String message) {
+        super(message);
+    }
+
+    public MediaServerSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kuke.videomeeting.advice.exception;
+
+public class MediaServerUnavailableException extends RuntimeException {
+    public MediaServerUnavailableException() {
+    }
+
+    public MediaServerUnavailableException(String message) {
+        super(message);
+    }
+
+    public MediaServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
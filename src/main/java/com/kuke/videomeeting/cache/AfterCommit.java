@@ -0,0 +1,24 @@
+package com.kuke.videomeeting.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+    // 트랜잭션 안이면 커밋된 후에 실행하고, 롤백되면 실행하지 않음
+    // 트랜잭션 밖이면 바로 실행
+    private AfterCommit() {
+    }
+
+    static void run(Runnable runnable) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+}
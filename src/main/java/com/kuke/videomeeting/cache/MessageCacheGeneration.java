@@ -0,0 +1,53 @@
+package com.kuke.videomeeting.cache;
+
+import com.kuke.videomeeting.config.cache.CacheKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class MessageCacheGeneration {
+    // 사용자별 메시지 캐시 버전, 캐시 키에 포함시켜서 버전을 올리면 그 사용자의 이전 페이지 캐시는 더 이상 조회되지 않음
+    // 전체 캐시를 비우지 않으므로 다른 사용자의 캐시는 유지됨
+    private static final Duration EXPIRE = Duration.ofSeconds(CacheKey.MESSAGE_GENERATION_EXPIRE_SEC);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public long getSent(Long userId) {
+        return get(CacheKey.SENT_MESSAGES, userId);
+    }
+
+    public long getReceived(Long userId) {
+        return get(CacheKey.RECEIVED_MESSAGES, userId);
+    }
+
+    public void bumpSent(Long userId) {
+        bump(CacheKey.SENT_MESSAGES, userId);
+    }
+
+    public void bumpReceived(Long userId) {
+        bump(CacheKey.RECEIVED_MESSAGES, userId);
+    }
+
+    private long get(String cacheName, Long userId) {
+        String generation = redisTemplate.opsForValue().get(generateKey(cacheName, userId));
+        return generation == null ? 0L : Long.parseLong(generation);
+    }
+
+    private void bump(String cacheName, Long userId) {
+        // 커밋 전에 올리면 그 사이 조회한 이전 목록이 새 버전으로 캐싱될 수 있으므로 커밋 후에 반영
+        AfterCommit.run(() -> {
+            String key = generateKey(cacheName, userId);
+            redisTemplate.opsForValue().increment(key);
+            // 버전이 만료되어 0부터 다시 시작해도 이전 버전의 캐시는 이미 만료되어 있도록 캐시보다 길게 유지
+            redisTemplate.expire(key, EXPIRE);
+        });
+    }
+
+    String generateKey(String cacheName, Long userId) {
+        return "cache-generation:" + cacheName + ":" + userId;
+    }
+}
@@ -0,0 +1,236 @@
+package com.kuke.videomeeting.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.config.cache.CacheKey;
+import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+@Component
+@Slf4j
+public class MessageHeadCache {
+    // 사용자별 최근 메시지 N개를 message id를 score로 하는 sorted set에 저장하고, 첫 몇 페이지 스크롤은 DB를 조회하지 않음
+    // marker(head가 전체 목록인지)가 있는 head만 유효, 쓰기는 head가 있을 때만 반영(write-through)
+
+    // KEYS: head, marker / ARGV: lastMessageId, count -> [전체 목록 여부, 메시지...], 유효한 head가 없으면 nil
+    // lua 배열 결과는 List로 받는데 List<String>의 Class 객체는 만들 수 없으므로 raw 타입 사용
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "local complete = redis.call('get', KEYS[2]) " +
+            "if not complete then return nil end " +
+            "local result = redis.call('zrevrangebyscore', KEYS[1], '(' .. ARGV[1], '-inf', 'LIMIT', 0, ARGV[2]) " +
+            "table.insert(result, 1, complete) " +
+            "return result",
+            List.class);
+
+    // KEYS: head, marker, 사용자 캐시 버전 / ARGV: 조회 전 버전, 전체 목록 여부, ttl, (score, member)...
+    // 조회하는 동안 쓰기가 있었으면 버전이 바뀌므로 저장하지 않음
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('get', KEYS[3]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('del', KEYS[1]) " +
+            "for i = 4, #ARGV, 2 do redis.call('zadd', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "if #ARGV >= 4 then redis.call('pexpire', KEYS[1], ARGV[3]) end " +
+            "redis.call('set', KEYS[2], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // KEYS: head, marker / ARGV: score, member, size, ttl
+    // 개수를 넘어서 잘라내면 더 이상 전체 목록이 아님
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local marker = redis.call('get', KEYS[2]) " +
+            "if not marker then return 0 end " +
+            "redis.call('zremrangebyscore', KEYS[1], ARGV[1], ARGV[1]) " +
+            "redis.call('zadd', KEYS[1], ARGV[1], ARGV[2]) " +
+            "local size = tonumber(ARGV[3]) " +
+            "if redis.call('zcard', KEYS[1]) > size then " +
+            "  redis.call('zremrangebyrank', KEYS[1], 0, -(size + 1)) " +
+            "  marker = '0' " +
+            "end " +
+            "redis.call('set', KEYS[2], marker, 'PX', ARGV[4]) " +
+            "redis.call('pexpire', KEYS[1], ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MessageCacheGeneration messageCacheGeneration;
+    private final Gson gson;
+    private final int size;
+    private final long expireMillis;
+
+    public MessageHeadCache(
+            StringRedisTemplate redisTemplate,
+            MessageCacheGeneration messageCacheGeneration,
+            Gson gson,
+            @Value("${cache.message-head.size:100}") int size,
+            @Value("${cache.message-head.expire-sec:600}") long expireSec) {
+        this.redisTemplate = redisTemplate;
+        this.messageCacheGeneration = messageCacheGeneration;
+        this.gson = gson;
+        this.size = size;
+        this.expireMillis = expireSec * 1000;
+    }
+
+    public Optional<Slice<SimpleMessageDto>> readSent(Long userId, Long lastMessageId, int limit, IntFunction<List<SimpleMessageDto>> loader) {
+        return read(CacheKey.SENT_MESSAGES, userId, lastMessageId, limit, loader);
+    }
+
+    public Optional<Slice<SimpleMessageDto>> readReceived(Long userId, Long lastMessageId, int limit, IntFunction<List<SimpleMessageDto>> loader) {
+        return read(CacheKey.RECEIVED_MESSAGES, userId, lastMessageId, limit, loader);
+    }
+
+    public void addSent(Long userId, SimpleMessageDto message) {
+        add(CacheKey.SENT_MESSAGES, userId, message);
+    }
+
+    public void addReceived(Long userId, SimpleMessageDto message) {
+        add(CacheKey.RECEIVED_MESSAGES, userId, message);
+    }
+
+    public void removeSent(Long userId, Long messageId) {
+        remove(CacheKey.SENT_MESSAGES, userId, messageId);
+    }
+
+    public void removeReceived(Long userId, Long messageId) {
+        remove(CacheKey.RECEIVED_MESSAGES, userId, messageId);
+    }
+
+    public void evictSent(Long userId) {
+        AfterCommit.run(() -> evict(CacheKey.SENT_MESSAGES, userId));
+    }
+
+    public void evictReceived(Long userId) {
+        AfterCommit.run(() -> evict(CacheKey.RECEIVED_MESSAGES, userId));
+    }
+
+    private Optional<Slice<SimpleMessageDto>> read(String box, Long userId, Long lastMessageId, int limit,
+                                                   IntFunction<List<SimpleMessageDto>> loader) {
+        // head 범위를 벗어나는 페이지는 Optional.empty()를 반환하고 DB에서 조회
+        if(limit >= size) return Optional.empty();
+        try {
+            List<?> result = redisTemplate.execute(READ_SCRIPT, List.of(generateKey(box, userId), generateMarkerKey(box, userId)),
+                    String.valueOf(lastMessageId), String.valueOf(limit + 1));
+            if(result != null && !result.isEmpty()) {
+                boolean complete = "1".equals(result.get(0));
+                List<SimpleMessageDto> messages = new ArrayList<>();
+                for (Object member : result.subList(1, result.size())) messages.add(decode(member.toString()));
+                if(messages.size() > limit) return Optional.of(toSlice(messages.subList(0, limit), true));
+                return complete ? Optional.of(toSlice(messages, false)) : Optional.empty();
+            }
+            // 유효한 head가 없으면 첫 페이지 조회 때 DB에서 읽어서 채움
+            if(lastMessageId != Long.MAX_VALUE) return Optional.empty();
+            return Optional.of(load(box, userId, limit, loader));
+        } catch (Exception e) {
+            log.warn("message head cache read failure - " + box + " " + userId + " " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Slice<SimpleMessageDto> load(String box, Long userId, int limit, IntFunction<List<SimpleMessageDto>> loader) {
+        String generationKey = messageCacheGeneration.generateKey(box, userId);
+        String generation = Optional.ofNullable(redisTemplate.opsForValue().get(generationKey)).orElse("0");
+        List<SimpleMessageDto> messages = loader.apply(size + 1); // 하나 더 읽어서 전체 목록인지 확인
+        boolean complete = messages.size() <= size;
+        List<SimpleMessageDto> head = complete ? messages : messages.subList(0, size);
+        List<String> args = new ArrayList<>(List.of(generation, complete ? "1" : "0", String.valueOf(expireMillis)));
+        for (SimpleMessageDto message : head) {
+            args.add(String.valueOf(message.getId()));
+            args.add(encode(message));
+        }
+        redisTemplate.execute(LOAD_SCRIPT, List.of(generateKey(box, userId), generateMarkerKey(box, userId), generationKey),
+                args.toArray());
+        return toSlice(messages.subList(0, Math.min(limit, messages.size())), messages.size() > limit);
+    }
+
+    private void add(String box, Long userId, SimpleMessageDto message) {
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.execute(ADD_SCRIPT, List.of(generateKey(box, userId), generateMarkerKey(box, userId)),
+                        String.valueOf(message.getId()), encode(message), String.valueOf(size), String.valueOf(expireMillis));
+            } catch (Exception e) {
+                // 반영하지 못한 head는 조회 결과가 틀리므로 제거
+                log.warn("message head cache write failure - " + box + " " + userId + " " + e.getMessage());
+                evict(box, userId);
+            }
+        });
+    }
+
+    private void remove(String box, Long userId, Long messageId) {
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.opsForZSet().removeRangeByScore(generateKey(box, userId), messageId, messageId);
+            } catch (Exception e) {
+                log.warn("message head cache write failure - " + box + " " + userId + " " + e.getMessage());
+                evict(box, userId);
+            }
+        });
+    }
+
+    private void evict(String box, Long userId) {
+        try {
+            redisTemplate.delete(generateMarkerKey(box, userId));
+        } catch (Exception e) {
+            log.warn("message head cache evict failure - " + box + " " + userId + " " + e.getMessage());
+        }
+    }
+
+    private Slice<SimpleMessageDto> toSlice(List<SimpleMessageDto> messages, boolean hasNext) {
+        return new SliceImpl<>(new ArrayList<>(messages), PageRequest.of(0, Math.max(messages.size(), 1)), hasNext);
+    }
+
+    String encode(SimpleMessageDto message) {
+        // 필드 이름 없이 배열로 저장: [id, 미리보기, 상대 id, 상대 닉네임, 생성일]
+        JsonArray array = new JsonArray();
+        array.add(message.getId());
+        array.add(message.getPreview());
+        array.add(message.getUserId());
+        array.add(message.getNickname());
+        array.add(toString(message.getCreatedAt()));
+        return gson.toJson(array);
+    }
+
+    SimpleMessageDto decode(String value) {
+        JsonArray array = JsonParser.parseString(value).getAsJsonArray();
+        return new SimpleMessageDto(toLong(array.get(0)), toString(array.get(1)), toLong(array.get(2)), toString(array.get(3)),
+                toDateTime(array.get(4)));
+    }
+
+    private String toString(LocalDateTime value) {
+        return value == null ? null : value.toString();
+    }
+
+    private String toString(JsonElement element) {
+        return element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private Long toLong(JsonElement element) {
+        return element.isJsonNull() ? null : element.getAsLong();
+    }
+
+    private LocalDateTime toDateTime(JsonElement element) {
+        return element.isJsonNull() ? null : LocalDateTime.parse(element.getAsString());
+    }
+
+    private String generateKey(String box, Long userId) {
+        return "message-head:" + box + ":" + userId;
+    }
+
+    private String generateMarkerKey(String box, Long userId) {
+        return "message-head:" + box + ":" + userId + ":marker";
+    }
+}
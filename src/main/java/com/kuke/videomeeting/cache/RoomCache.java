@@ -0,0 +1,107 @@
+package com.kuke.videomeeting.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kuke.videomeeting.config.cache.CacheKey;
+import com.kuke.videomeeting.model.dto.room.RoomSimpleDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class RoomCache {
+    public static final String INVALIDATE_TOPIC = "room-cache:invalidate";
+
+    // 방 번호 -> 방 정보(없는 방이면 Optional.empty())
+    // 변경은 redis 캐시에 쓴 뒤 다른 인스턴스에 알려서 로컬 캐시를 지우고, 알림을 놓친 경우를 위해 로컬 캐시는 짧게 유지
+    private final Cache<String, Optional<RoomSimpleDto>> localCache;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+
+    public RoomCache(
+            CacheManager cacheManager,
+            StringRedisTemplate redisTemplate,
+            @Value("${cache.room.local-expire-sec:5}") long localExpireSec,
+            @Value("${cache.room.local-max-size:10000}") long localMaxSize) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localExpireSec))
+                .maximumSize(localMaxSize)
+                .build();
+    }
+
+    public Optional<RoomSimpleDto> get(String number, Function<String, Optional<RoomSimpleDto>> loader) {
+        // 같은 번호에 대한 동시 요청은 로컬 캐시에서 한번만 로드
+        return localCache.get(number, n -> {
+            Optional<RoomSimpleDto> cached = readRemote(n);
+            if(cached != null) return cached;
+            Optional<RoomSimpleDto> loaded = loader.apply(n);
+            writeRemote(n, loaded);
+            return loaded;
+        });
+    }
+
+    public void put(RoomSimpleDto room) {
+        AfterCommit.run(() -> {
+            writeRemote(room.getNumber(), Optional.of(room));
+            localCache.put(room.getNumber(), Optional.of(room));
+            publishInvalidation(room.getNumber());
+        });
+    }
+
+    public void evict(String number) {
+        // 파괴된 방 번호로 다시 조회해도 DB까지 가지 않도록 없는 방으로 캐싱
+        AfterCommit.run(() -> {
+            writeRemote(number, Optional.empty());
+            localCache.put(number, Optional.empty());
+            publishInvalidation(number);
+        });
+    }
+
+    public void invalidateLocal(String number) {
+        // 다른 인스턴스에서 변경된 방, 다음 조회 때 redis 캐시에서 다시 읽음
+        localCache.invalidate(number);
+    }
+
+    private void publishInvalidation(String number) {
+        // 자신이 보낸 알림도 받아서 로컬 캐시를 지우지만, redis 캐시에는 이미 같은 값이 있음
+        try {
+            redisTemplate.convertAndSend(INVALIDATE_TOPIC, number);
+        } catch (Exception e) {
+            log.warn("room cache invalidation publish failure - " + number, e);
+        }
+    }
+
+    private Optional<RoomSimpleDto> readRemote(String number) {
+        try {
+            org.springframework.cache.Cache.ValueWrapper room = cacheManager.getCache(CacheKey.ROOM).get(number);
+            if(room != null) return Optional.of((RoomSimpleDto) room.get());
+            if(cacheManager.getCache(CacheKey.ROOM_NOT_FOUND).get(number) != null) return Optional.empty();
+        } catch (Exception e) {
+            log.warn("room cache read failure - " + number, e);
+        }
+        return null;
+    }
+
+    private void writeRemote(String number, Optional<RoomSimpleDto> room) {
+        try {
+            if(room.isPresent()) {
+                cacheManager.getCache(CacheKey.ROOM).put(number, room.get());
+                cacheManager.getCache(CacheKey.ROOM_NOT_FOUND).evict(number);
+            } else {
+                cacheManager.getCache(CacheKey.ROOM).evict(number);
+                cacheManager.getCache(CacheKey.ROOM_NOT_FOUND).put(number, Boolean.TRUE);
+            }
+        } catch (Exception e) {
+            log.warn("room cache write failure - " + number, e);
+        }
+    }
+}
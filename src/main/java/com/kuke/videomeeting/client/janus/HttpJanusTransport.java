@@ -0,0 +1,143 @@
+package com.kuke.videomeeting.client.janus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Component
+@Slf4j
+public class HttpJanusTransport implements JanusTransport, DisposableBean {
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final Map<JanusOperation, RestTemplate> restTemplates = new EnumMap<>(JanusOperation.class);
+    private final Set<String> servers = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final int maxPerServer;
+
+    public HttpJanusTransport(
+            MeterRegistry meterRegistry,
+            @Value("${janus.client.pool.max-per-server:20}") int maxPerServer,
+            @Value("${janus.client.pool.idle-timeout-sec:30}") long idleTimeoutSec,
+            @Value("${janus.client.timeout.connect-ms:1000}") int connectTimeout,
+            @Value("${janus.client.timeout.pool-ms:500}") int poolTimeout,
+            @Value("${janus.client.timeout.create-ms:3000}") int createTimeout,
+            @Value("${janus.client.timeout.edit-ms:2000}") int editTimeout,
+            @Value("${janus.client.timeout.list-ms:2000}") int listTimeout,
+            @Value("${janus.client.timeout.destroy-ms:3000}") int destroyTimeout,
+            @Value("${janus.client.timeout.sessions-ms:2000}") int sessionsTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.maxPerServer = maxPerServer;
+
+        // 미디어 서버(route)마다 keep-alive 커넥션 풀을 따로 가짐
+        connectionManager = new PoolingHttpClientConnectionManager(idleTimeoutSec, TimeUnit.SECONDS);
+        connectionManager.setDefaultMaxPerRoute(maxPerServer);
+        connectionManager.setMaxTotal(maxPerServer);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutSec, TimeUnit.SECONDS)
+                .disableAutomaticRetries()
+                .build();
+
+        restTemplates.put(JanusOperation.CREATE, createRestTemplate(connectTimeout, poolTimeout, createTimeout));
+        restTemplates.put(JanusOperation.EDIT, createRestTemplate(connectTimeout, poolTimeout, editTimeout));
+        restTemplates.put(JanusOperation.LIST, createRestTemplate(connectTimeout, poolTimeout, listTimeout));
+        restTemplates.put(JanusOperation.DESTROY, createRestTemplate(connectTimeout, poolTimeout, destroyTimeout));
+        restTemplates.put(JanusOperation.LIST_SESSIONS, createRestTemplate(connectTimeout, poolTimeout, sessionsTimeout));
+        restTemplates.put(JanusOperation.PING, restTemplates.get(JanusOperation.LIST_SESSIONS));
+        restTemplates.put(JanusOperation.LIST_PARTICIPANTS, restTemplates.get(JanusOperation.LIST));
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public ResponseEntity<String> exchange(String server, JanusOperation operation, String json) {
+        if(!servers.contains(server)) addServer(server);
+        return restTemplates.get(operation).postForEntity(server + "/admin", generateRequest(json), String.class);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+
+    private RestTemplate createRestTemplate(int connectTimeout, int poolTimeout, int readTimeout) {
+        // 같은 HttpClient(커넥션 풀)를 공유하고 timeout 설정만 operation 별로 다르게 적용
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout(connectTimeout);
+        factory.setConnectionRequestTimeout(poolTimeout);
+        factory.setReadTimeout(readTimeout);
+        return new RestTemplate(factory);
+    }
+
+    private HttpEntity<String> generateRequest(String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(json, headers);
+    }
+
+    private synchronized void addServer(String server) {
+        // 서버가 런타임에 추가될 수 있으므로 처음 요청할 때 전체 커넥션 수를 늘리고 지표 등록
+        if(!servers.add(server)) return;
+        connectionManager.setMaxTotal(maxPerServer * servers.size());
+        registerPoolMetrics(server);
+    }
+
+    private void registerPoolMetrics(String server) {
+        HttpRoute route = generateRoute(server);
+        if(route == null) return;
+        registerPoolGauge("janus.client.pool.leased", server, route, PoolStats::getLeased);
+        registerPoolGauge("janus.client.pool.available", server, route, PoolStats::getAvailable);
+        registerPoolGauge("janus.client.pool.pending", server, route, PoolStats::getPending);
+        registerPoolGauge("janus.client.pool.max", server, route, PoolStats::getMax);
+    }
+
+    private void registerPoolGauge(String name, String server, HttpRoute route, ToDoubleFunction<PoolStats> f) {
+        Gauge.builder(name, connectionManager, m -> f.applyAsDouble(m.getStats(route)))
+                .tag("server", server)
+                .register(meterRegistry);
+    }
+
+    private HttpRoute generateRoute(String server) {
+        try {
+            HttpHost host = HttpHost.create(server);
+            HttpHost target = new HttpHost(host.getHostName(),
+                    DefaultSchemePortResolver.INSTANCE.resolve(host), host.getSchemeName());
+            return new HttpRoute(target, null, "https".equalsIgnoreCase(target.getSchemeName()));
+        } catch (Exception e) {
+            log.warn("invalid janus server - " + server);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.kuke.videomeeting.advice.exception.MediaServerUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class JanusClient implements DisposableBean {
+    private final JanusTransport transport;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final MediaServerHealthRegistry healthRegistry;
+    private final JanusResponseParser janusResponseParser;
+
+    public JanusClient(
+            MeterRegistry meterRegistry,
+            MediaServerHealthRegistry healthRegistry,
+            JanusResponseParser janusResponseParser,
+            List<JanusTransport> transports,
+            @Value("${janus.client.transport:http}") String transportName,
+            @Value("${janus.client.async.threads:16}") int asyncThreads) {
+        this.meterRegistry = meterRegistry;
+        this.healthRegistry = healthRegistry;
+        this.janusResponseParser = janusResponseParser;
+        this.transport = transports.stream()
+                .filter(t -> t.getName().equals(transportName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown janus transport - " + transportName));
+        log.info("janus transport - " + transport.getName());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(asyncThreads, r -> {
+            Thread thread = new Thread(r, "janus-client-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<ResponseEntity<String>> postAsync(String server, JanusOperation operation, String json) {
+        return CompletableFuture.supplyAsync(() -> post(server, operation, json), executor);
+    }
+
+    public ResponseEntity<String> post(String server, JanusOperation operation, String json) {
+        // circuit이 열려있거나 동시 요청 수가 가득 찬 서버는 요청하지 않고 바로 실패
+        MediaServerCircuitBreaker breaker = healthRegistry.getCircuitBreaker(server);
+        if(!breaker.tryAcquire()) {
+            meterRegistry.counter("janus.client.rejected", "server", server, "operation", operation.getTag()).increment();
+            throw new MediaServerUnavailableException();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            ResponseEntity<String> response = transport.exchange(server, operation, json);
+            // 2xx여도 janus가 요청을 처리하지 못한 응답은 실패로 기록해서 circuit이 닫히지 않도록 함
+            outcome = response.getStatusCode().is2xxSuccessful() && !janusResponseParser.isError(response.getBody()) ? "success" : "failure";
+            return response;
+        } finally {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if(outcome.equals("success")) breaker.onSuccess(latency);
+            else breaker.onFailure(latency);
+            sample.stop(Timer.builder("janus.client.requests")
+                    .tag("server", server)
+                    .tag("operation", operation.getTag())
+                    .tag("outcome", outcome)
+                    .tag("transport", transport.getName())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
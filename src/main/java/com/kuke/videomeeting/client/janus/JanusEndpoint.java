@@ -0,0 +1,33 @@
+package com.kuke.videomeeting.client.janus;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "janus")
+@RequiredArgsConstructor
+public class JanusEndpoint {
+    // health에 포함하면 미디어 서버 장애가 배포 헬스체크 실패로 이어지므로 별도 endpoint로 노출
+
+    private final MediaServerHealthRegistry healthRegistry;
+
+    @ReadOperation
+    public Map<String, Object> servers() {
+        Map<String, Object> result = new TreeMap<>();
+        healthRegistry.getCircuitBreakers().forEach((server, breaker) -> {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("state", breaker.getState());
+            detail.put("healthScore", breaker.getHealthScore());
+            detail.put("latency", breaker.getLatency());
+            detail.put("availablePermits", breaker.getAvailablePermits());
+            result.put(server, detail);
+        });
+        return result;
+    }
+}
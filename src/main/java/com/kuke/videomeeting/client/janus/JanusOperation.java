@@ -0,0 +1,9 @@
+package com.kuke.videomeeting.client.janus;
+
+public enum JanusOperation {
+    CREATE, EDIT, LIST, DESTROY, LIST_SESSIONS, PING, LIST_PARTICIPANTS;
+
+    public String getTag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,97 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.JsonObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JanusRequestFactory {
+    // janus admin API 요청 생성, 방 제목 등 사용자 입력은 JsonObject로 escape해서 다른 필드를 덮어쓰지 못하도록 함
+    private static final String VIDEOROOM_PLUGIN = "janus.plugin.videoroom";
+
+    private final String adminSecret;
+    private final String roomSecret;
+    private final int publishers;
+    private final long bitrate;
+
+    public JanusRequestFactory(
+            @Value("${janus.admin.secret}") String adminSecret,
+            @Value("${janus.room.secret}") String roomSecret,
+            @Value("${janus.room.publishers:100}") int publishers,
+            @Value("${janus.room.bitrate:0}") long bitrate) {
+        this.adminSecret = adminSecret;
+        this.roomSecret = roomSecret;
+        this.publishers = publishers;
+        this.bitrate = bitrate;
+    }
+
+    public String createRoom(String room, String description, String pin) {
+        // room이 null이면 janus가 방 번호를 정함
+        JsonObject request = new JsonObject();
+        request.addProperty("request", "create");
+        if(room != null) request.addProperty("room", toRoomId(room));
+        request.addProperty("description", description);
+        request.addProperty("pin", pin);
+        request.addProperty("publishers", publishers);
+        if(bitrate > 0) request.addProperty("bitrate", bitrate);
+        return generatePluginMessage(request);
+    }
+
+    public String editRoom(String room, String description) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", "edit");
+        request.addProperty("room", toRoomId(room));
+        request.addProperty("secret", roomSecret);
+        request.addProperty("new_description", description);
+        return generatePluginMessage(request);
+    }
+
+    public String listRooms() {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", "list");
+        return generatePluginMessage(request);
+    }
+
+    public String listParticipants(String room) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", "listparticipants");
+        request.addProperty("room", toRoomId(room));
+        return generatePluginMessage(request);
+    }
+
+    public String destroyRoom(String room) {
+        JsonObject request = new JsonObject();
+        request.addProperty("request", "destroy");
+        request.addProperty("room", toRoomId(room));
+        request.addProperty("secret", roomSecret);
+        return generatePluginMessage(request);
+    }
+
+    public String listSessions() {
+        return generateAdminRequest("list_sessions").toString();
+    }
+
+    public String ping() {
+        return generateAdminRequest("ping").toString();
+    }
+
+    private String generatePluginMessage(JsonObject request) {
+        JsonObject json = generateAdminRequest("message_plugin");
+        json.addProperty("plugin", VIDEOROOM_PLUGIN);
+        json.add("request", request);
+        return json.toString();
+    }
+
+    private JsonObject generateAdminRequest(String janus) {
+        JsonObject json = new JsonObject();
+        json.addProperty("janus", janus);
+        json.addProperty("transaction", JanusTransaction.next());
+        json.addProperty("admin_secret", adminSecret);
+        return json;
+    }
+
+    private long toRoomId(String room) {
+        // 방 번호는 숫자만 허용
+        return Long.parseLong(room);
+    }
+}
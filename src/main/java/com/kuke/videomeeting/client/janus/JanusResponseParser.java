@@ -0,0 +1,124 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.kuke.videomeeting.advice.exception.MediaServerCommunicationFailureException;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.model.dto.room.RoomSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class JanusResponseParser {
+    // 응답 전체를 객체로 만들지 않고 필요한 위치까지 스트리밍으로 읽음
+
+    private final Gson gson;
+    // 방이 없거나(426) 이미 있는(427) 응답은 요청에 대한 정상 결과이므로 서버 장애로 보지 않음
+    private static final Set<Integer> EXPECTED_ERROR_CODES = Set.of(426, 427);
+
+    public boolean isError(String body) {
+        // janus는 요청 실패도 HTTP 200으로 응답하므로 본문의 janus: error와 플러그인 error_code로 확인
+        if(body == null) return true;
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if(name.equals("janus") && reader.peek() == JsonToken.STRING) {
+                    if(reader.nextString().equals("error")) return true;
+                } else if(name.equals("response") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    if(moveToName(reader, "error_code")) return !EXPECTED_ERROR_CODES.contains(reader.nextInt());
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            return false;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public List<RoomDto> parseRoomList(String body) {
+        return parseRoomList(body, reader -> gson.fromJson(reader, RoomDto.class));
+    }
+
+    public List<RoomSummaryDto> parseRoomSummaryList(String body) {
+        return parseRoomList(body, this::readRoomSummary);
+    }
+
+    public List<String> parseSessions(String body) {
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            if(!moveToName(reader, "sessions")) throw new MediaServerCommunicationFailureException();
+            List<String> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) result.add(reader.nextString());
+            reader.endArray();
+            return result;
+        } catch (IOException | IllegalStateException e) {
+            throw new MediaServerCommunicationFailureException();
+        }
+    }
+
+    private <T> List<T> parseRoomList(String body, ElementReader<T> elementReader) {
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            if(!moveToName(reader, "response")) throw new MediaServerCommunicationFailureException();
+            reader.beginObject();
+            if(!moveToName(reader, "list")) throw new MediaServerCommunicationFailureException(); // 플러그인 에러 응답
+            List<T> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) result.add(elementReader.read(reader));
+            reader.endArray();
+            return result;
+        } catch (IOException | IllegalStateException e) {
+            throw new MediaServerCommunicationFailureException();
+        }
+    }
+
+    private RoomSummaryDto readRoomSummary(JsonReader reader) throws IOException {
+        String room = null, maxPublishers = null;
+        int numParticipants = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "room":
+                    room = reader.nextString(); // 숫자, 문자열 id 모두 허용
+                    break;
+                case "num_participants":
+                    numParticipants = reader.nextInt();
+                    break;
+                case "max_publishers":
+                    maxPublishers = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new RoomSummaryDto(room, numParticipants, maxPublishers);
+    }
+
+    private boolean moveToName(JsonReader reader, String name) throws IOException {
+        // 현재 객체에서 name 필드의 값 직전까지 이동, 없으면 false
+        while (reader.hasNext()) {
+            if(reader.peek() == JsonToken.NAME && reader.nextName().equals(name)) return true;
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+}
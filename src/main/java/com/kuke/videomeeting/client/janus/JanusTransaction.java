@@ -0,0 +1,17 @@
+package com.kuke.videomeeting.client.janus;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JanusTransaction {
+    // 여러 인스턴스가 같은 서버에 요청해도 겹치지 않도록 인스턴스별 prefix + 순번 사용
+    private static final String PREFIX = UUID.randomUUID().toString().substring(0, 8);
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private JanusTransaction() {
+    }
+
+    public static String next() {
+        return PREFIX + "-" + sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,8 @@
+package com.kuke.videomeeting.client.janus;
+
+import org.springframework.http.ResponseEntity;
+
+public interface JanusTransport { // janus admin API로 요청 하나를 보내고 응답을 받는 방법
+    String getName();
+    ResponseEntity<String> exchange(String server, JanusOperation operation, String json);
+}
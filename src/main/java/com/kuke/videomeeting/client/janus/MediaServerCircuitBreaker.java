@@ -0,0 +1,95 @@
+package com.kuke.videomeeting.client.janus;
+
+import java.util.concurrent.Semaphore;
+
+public class MediaServerCircuitBreaker {
+    private static final double ALPHA = 0.2; // 지수 이동 평균 가중치
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Semaphore bulkhead; // 서버별 동시 요청 수 제한
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+    private double successRate = 1.0;
+    private double latency;
+
+    public MediaServerCircuitBreaker(int failureThreshold, long openMillis, int maxConcurrent) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.bulkhead = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        synchronized (this) {
+            if(state == State.OPEN) {
+                if(System.currentTimeMillis() - openedAt < openMillis) return false;
+                state = State.HALF_OPEN; // open 시간이 지나면 요청 하나만 보내서 복구 여부 확인
+                probing = false;
+            }
+            if(state == State.HALF_OPEN) {
+                if(probing) return false;
+                probing = true;
+            }
+        }
+        if(bulkhead.tryAcquire()) return true;
+        synchronized (this) {
+            if(state == State.HALF_OPEN) probing = false;
+        }
+        return false;
+    }
+
+    public void onSuccess(long latencyMillis) {
+        bulkhead.release();
+        synchronized (this) {
+            consecutiveFailures = 0;
+            state = State.CLOSED;
+            probing = false;
+            record(1.0, latencyMillis);
+        }
+    }
+
+    public void onFailure(long latencyMillis) {
+        bulkhead.release();
+        synchronized (this) {
+            consecutiveFailures++;
+            record(0.0, latencyMillis);
+            if(state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                probing = false;
+            }
+        }
+    }
+
+    public synchronized boolean isAvailable() {
+        return state != State.OPEN || System.currentTimeMillis() - openedAt >= openMillis;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getHealthScore() {
+        return successRate;
+    }
+
+    public synchronized double getLatency() {
+        return latency;
+    }
+
+    public int getAvailablePermits() {
+        return bulkhead.availablePermits();
+    }
+
+    private void record(double success, long latencyMillis) {
+        successRate = successRate * (1 - ALPHA) + success * ALPHA;
+        latency = latency * (1 - ALPHA) + latencyMillis * ALPHA;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kuke.videomeeting.client.janus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class MediaServerHealthRegistry {
+    private final Map<String, MediaServerCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int maxConcurrent;
+
+    public MediaServerHealthRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${janus.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${janus.circuit.open-ms:30000}") long openMillis,
+            @Value("${janus.circuit.max-concurrent:${janus.client.pool.max-per-server:20}}") int maxConcurrent) {
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public MediaServerCircuitBreaker getCircuitBreaker(String server) {
+        return breakers.computeIfAbsent(server, this::createCircuitBreaker);
+    }
+
+    public boolean isAvailable(String server) {
+        return getCircuitBreaker(server).isAvailable();
+    }
+
+    public List<String> filterAvailable(List<String> servers) {
+        return servers.stream().filter(this::isAvailable).collect(Collectors.toList());
+    }
+
+    public Map<String, MediaServerCircuitBreaker> getCircuitBreakers() {
+        return Map.copyOf(breakers);
+    }
+
+    private MediaServerCircuitBreaker createCircuitBreaker(String server) {
+        MediaServerCircuitBreaker breaker = new MediaServerCircuitBreaker(failureThreshold, openMillis, maxConcurrent);
+        Gauge.builder("janus.circuit.state", breaker, b -> b.getState().ordinal())
+                .tag("server", server)
+                .register(meterRegistry);
+        Gauge.builder("janus.circuit.health-score", breaker, MediaServerCircuitBreaker::getHealthScore)
+                .tag("server", server)
+                .register(meterRegistry);
+        return breaker;
+    }
+}
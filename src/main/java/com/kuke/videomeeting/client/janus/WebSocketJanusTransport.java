@@ -0,0 +1,253 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class WebSocketJanusTransport implements JanusTransport, DisposableBean {
+    private static final String SUBPROTOCOL = "janus-admin-protocol";
+    private static final long MAX_RECONNECT_MILLIS = 1000L * 30;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final Map<JanusOperation, Long> timeouts = new EnumMap<>(JanusOperation.class);
+    private final ScheduledExecutorService reconnectExecutor;
+    private final HttpClient httpClient;
+    private final String path;
+    private final long connectTimeout;
+    private final long reconnectMillis;
+    private volatile boolean closed;
+
+    public WebSocketJanusTransport(
+            @Value("${janus.client.websocket.path:/admin-ws}") String path,
+            @Value("${janus.client.websocket.reconnect-ms:1000}") long reconnectMillis,
+            @Value("${janus.client.timeout.connect-ms:1000}") long connectTimeout,
+            @Value("${janus.client.timeout.create-ms:3000}") long createTimeout,
+            @Value("${janus.client.timeout.edit-ms:2000}") long editTimeout,
+            @Value("${janus.client.timeout.list-ms:2000}") long listTimeout,
+            @Value("${janus.client.timeout.destroy-ms:3000}") long destroyTimeout,
+            @Value("${janus.client.timeout.sessions-ms:2000}") long sessionsTimeout) {
+        this.path = path;
+        this.reconnectMillis = reconnectMillis;
+        this.connectTimeout = connectTimeout;
+        timeouts.put(JanusOperation.CREATE, createTimeout);
+        timeouts.put(JanusOperation.EDIT, editTimeout);
+        timeouts.put(JanusOperation.LIST, listTimeout);
+        timeouts.put(JanusOperation.DESTROY, destroyTimeout);
+        timeouts.put(JanusOperation.LIST_SESSIONS, sessionsTimeout);
+        timeouts.put(JanusOperation.PING, sessionsTimeout);
+        timeouts.put(JanusOperation.LIST_PARTICIPANTS, listTimeout);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(connectTimeout)).build();
+        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "janus-websocket-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "websocket";
+    }
+
+    @Override
+    public ResponseEntity<String> exchange(String server, JanusOperation operation, String json) {
+        // 서버마다 하나의 연결을 공유하고, 응답은 transaction id로 요청과 연결
+        Connection connection = connections.computeIfAbsent(server, s -> connect(s, 0));
+        try {
+            connection.awaitOpen(connectTimeout);
+        } catch (Exception e) {
+            connections.remove(server, connection);
+            throw new ResourceAccessException("janus websocket connect failure - " + server);
+        }
+        return ResponseEntity.ok(connection.send(json, timeouts.get(operation)));
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        reconnectExecutor.shutdownNow();
+        connections.values().forEach(Connection::close);
+        connections.clear();
+    }
+
+    private Connection connect(String server, int attempts) {
+        // 연결 시도 횟수는 handshake 전에 정해야 onOpen에서 초기화한 값을 덮어쓰지 않음
+        Connection connection = new Connection(server, attempts, this::onDisconnected);
+        httpClient.newWebSocketBuilder()
+                .subprotocols(SUBPROTOCOL)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .buildAsync(generateUri(server), connection)
+                .whenComplete((ws, e) -> {
+                    if(e != null) connection.onError(null, e);
+                });
+        return connection;
+    }
+
+    private void onDisconnected(Connection connection) {
+        // 끊어진 연결은 버리고, 다음 요청이 기다리지 않도록 백그라운드에서 다시 연결
+        if(!connections.remove(connection.getServer(), connection) || closed) return;
+        long delay = Math.min(reconnectMillis << Math.min(connection.getAttempts(), 5), MAX_RECONNECT_MILLIS);
+        reconnectExecutor.schedule(() -> {
+            if(closed || connections.containsKey(connection.getServer())) return;
+            Connection next = connect(connection.getServer(), connection.getAttempts() + 1);
+            // 그 사이 요청이 새 연결을 만들었으면 이 연결은 사용하지 않으므로 닫음
+            if(connections.putIfAbsent(connection.getServer(), next) != null) next.close();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private URI generateUri(String server) {
+        return URI.create(server.replaceFirst("^http", "ws") + path);
+    }
+
+    static class Connection implements WebSocket.Listener {
+        private final String server;
+        private final Consumer<Connection> disconnectListener;
+        private final CompletableFuture<WebSocket> socket = new CompletableFuture<>();
+        private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+        private final StringBuilder buffer = new StringBuilder();
+        private volatile int attempts;
+        private volatile boolean closed;
+
+        Connection(String server, int attempts, Consumer<Connection> disconnectListener) {
+            this.server = server;
+            this.attempts = attempts;
+            this.disconnectListener = disconnectListener;
+        }
+
+        String send(String json, long timeout) {
+            String transaction = readTransaction(json);
+            CompletableFuture<String> response = new CompletableFuture<>();
+            pending.put(transaction, response);
+            try {
+                WebSocket ws = socket.getNow(null);
+                if(ws == null) throw new ResourceAccessException("janus websocket not connected - " + server);
+                synchronized (this) { // 이전 메시지 전송이 끝나기 전에 다음 메시지를 보낼 수 없음
+                    ws.sendText(json, true).join();
+                }
+                return response.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new ResourceAccessException("janus websocket timeout - " + server);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("janus websocket interrupted - " + server);
+            } catch (ExecutionException | CompletionException e) {
+                throw new ResourceAccessException("janus websocket failure - " + server + " " + e.getCause());
+            } finally {
+                pending.remove(transaction);
+            }
+        }
+
+        void awaitOpen(long timeout) throws Exception {
+            socket.get(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        void close() {
+            // handshake 중에 닫으면 연결된 뒤 onOpen에서 닫음
+            closed = true;
+            WebSocket ws = socket.getNow(null);
+            if(ws != null) ws.sendClose(WebSocket.NORMAL_CLOSURE, "");
+            failPending(new ResourceAccessException("janus websocket closed - " + server));
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            attempts = 0;
+            socket.complete(webSocket);
+            if(closed) {
+                webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "");
+                return;
+            }
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            // 큰 응답(방 목록)은 여러 프레임으로 나뉘어서 올 수 있음
+            buffer.append(data);
+            if(last) {
+                String message = buffer.toString();
+                buffer.setLength(0);
+                handleMessage(message);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            log.warn("janus websocket closed - " + server + " " + statusCode + " " + reason);
+            disconnected(new ResourceAccessException("janus websocket closed - " + server));
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            log.warn("janus websocket error - " + server + " " + error.getMessage());
+            socket.completeExceptionally(error);
+            disconnected(error);
+        }
+
+        void handleMessage(String message) {
+            JsonObject json;
+            try {
+                json = JsonParser.parseString(message).getAsJsonObject();
+            } catch (Exception e) {
+                log.warn("invalid janus websocket message - " + server);
+                return;
+            }
+            JsonElement janus = json.get("janus"), transaction = json.get("transaction");
+            if(transaction == null || (janus != null && "ack".equals(janus.getAsString()))) return;
+            CompletableFuture<String> response = pending.remove(transaction.getAsString());
+            if(response != null) response.complete(message);
+        }
+
+        void attach(WebSocket webSocket) {
+            socket.complete(webSocket);
+        }
+
+        String getServer() {
+            return server;
+        }
+
+        int getAttempts() {
+            return attempts;
+        }
+
+        int getPendingCount() {
+            return pending.size();
+        }
+
+        private void disconnected(Throwable error) {
+            failPending(error);
+            disconnectListener.accept(this);
+        }
+
+        private void failPending(Throwable error) {
+            pending.values().forEach(f -> f.completeExceptionally(error));
+            pending.clear();
+        }
+
+        private String readTransaction(String json) {
+            JsonElement transaction = JsonParser.parseString(json).getAsJsonObject().get("transaction");
+            if(transaction == null) throw new IllegalArgumentException("janus request without transaction");
+            return transaction.getAsString();
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.kuke.videomeeting.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -14,10 +12,18 @@ public class SchedulingConfig implements SchedulingConfigurer {
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // 방 정리, rebalance 등 오래 걸리거나 대기하는 작업이 있어도 로비, 서버 목록 갱신이 밀리지 않도록 작업마다 스레드 하나씩
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(1);
+        scheduler.setPoolSize(Math.max(countTasks(taskRegistrar), 1));
+        scheduler.setThreadNamePrefix("scheduling-");
         scheduler.initialize();
 
         taskRegistrar.setTaskScheduler(scheduler);
     }
+
+    static int countTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // 이 시점에는 @Scheduled 메서드가 모두 등록되어 있음
+        return taskRegistrar.getTriggerTaskList().size() + taskRegistrar.getCronTaskList().size()
+                + taskRegistrar.getFixedRateTaskList().size() + taskRegistrar.getFixedDelayTaskList().size();
+    }
 }
@@ -14,6 +14,12 @@ public class CacheKey {
     public static final int SENT_MESSAGES_EXPIRE_SEC = 60 * 5;
     public static final String RECEIVED_MESSAGES = "received_messages";
     public static final int RECEIVED_MESSAGES_EXPIRE_SEC = 60 * 5;
+    public static final int MESSAGE_GENERATION_EXPIRE_SEC = 60 * 60 * 24; // 사용자별 메시지 캐시 버전
+
+    public static final String ROOM = "room";
+    public static final int ROOM_EXPIRE_SEC = 60 * 10;
+    public static final String ROOM_NOT_FOUND = "room_not_found"; // 존재하지 않는 방 번호
+    public static final int ROOM_NOT_FOUND_EXPIRE_SEC = 30;
 
     public static final String CODE = "code";
     public static final int CODE_EXPIRE_SEC = 60 * 5;
@@ -46,12 +46,16 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         .antMatchers(HttpMethod.POST, "/api/sign/login", "/api/sign/register", "/api/sign/refresh-token", "/api/sign/send-code-email-for-forgotten-password", "/api/sign/login-by-provider", "/api/sign/register-by-provider").permitAll()
                         .antMatchers(HttpMethod.PUT, "/api/sign/change-forgotten-password").permitAll()
                         .antMatchers(HttpMethod.POST, "/api/social/get-token-by-provider").permitAll()
+                        .antMatchers(HttpMethod.POST, "/api/janus/events").permitAll() // janus event handler, basic 인증은 서비스에서 검사
                         .antMatchers(HttpMethod.GET, "/api/users/me", "/api/friends/me").hasRole("NORMAL")
                         .antMatchers(HttpMethod.GET, "/exception", "/exception/**").permitAll()
                         .antMatchers(HttpMethod.GET, "/api/users", "/api/users/**", "/api/users/nickname",
                                 "/api/users/nickname/**", "/api/friends").permitAll()
                         .antMatchers(HttpMethod.GET, "/api/rooms", "/api/rooms/**").permitAll()
                         .antMatchers(HttpMethod.GET, "/kuke-health/health").permitAll()
+                        .antMatchers(HttpMethod.GET, "/kuke-health/janus").hasRole("ADMIN")
+                        .antMatchers(HttpMethod.GET, "/kuke-health/metrics", "/kuke-health/metrics/**").hasRole("ADMIN") // janus, room 등 micrometer 지표
+                        .antMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().hasRole("NORMAL")
                 .and()
                     .exceptionHandling().accessDeniedHandler(new CustomAccessDeniedHandler())
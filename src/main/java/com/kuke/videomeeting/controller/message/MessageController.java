@@ -1,6 +1,7 @@
 package com.kuke.videomeeting.controller.message;
 
 import com.kuke.videomeeting.model.auth.CustomUserDetails;
+import com.kuke.videomeeting.model.dto.message.MessageBulkDeleteRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageCreateRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageDto;
 import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
@@ -53,6 +54,16 @@ public class MessageController {
         return responseService.getListResult(result.getContent(), result.hasNext());
     }
 
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @GetMapping("/messages/{messageId}")
+    public Result readMessage(
+            @ApiIgnore @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable("messageId") Long messageId) {
+        return responseService.getSingleResult(messageService.readMessage(userDetails.getId(), messageId));
+    }
+
     @ApiImplicitParams({
             @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
     })
@@ -85,4 +96,24 @@ public class MessageController {
         return responseService.getSuccessResult();
     }
 
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @DeleteMapping("/messages/sent")
+    public Result deleteMessagesBySender(
+            @ApiIgnore @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody MessageBulkDeleteRequestDto requestDto) {
+        return responseService.getSingleResult(messageService.deleteMessagesBySender(userDetails.getId(), requestDto));
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @DeleteMapping("/messages/received")
+    public Result deleteMessagesByReceiver(
+            @ApiIgnore @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody MessageBulkDeleteRequestDto requestDto) {
+        return responseService.getSingleResult(messageService.deleteMessagesByReceiver(userDetails.getId(), requestDto));
+    }
+
 }
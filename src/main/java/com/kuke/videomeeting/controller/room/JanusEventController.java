@@ -0,0 +1,26 @@
+package com.kuke.videomeeting.controller.room;
+
+import com.kuke.videomeeting.model.dto.response.Result;
+import com.kuke.videomeeting.service.common.ResponseService;
+import com.kuke.videomeeting.service.room.ParticipantCounterService;
+import io.swagger.annotations.Api;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@Api(value = "Janus Event Controller", tags = {"Janus Event"})
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class JanusEventController {
+
+    private final ParticipantCounterService participantCounterService;
+    private final ResponseService responseService;
+
+    @PostMapping("/janus/events")
+    public Result handleEvents(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody String body) {
+        participantCounterService.handleEvents(authorization, body);
+        return responseService.getSuccessResult();
+    }
+}
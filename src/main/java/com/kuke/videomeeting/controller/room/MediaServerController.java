@@ -0,0 +1,81 @@
+package com.kuke.videomeeting.controller.room;
+
+import com.kuke.videomeeting.model.dto.response.Result;
+import com.kuke.videomeeting.model.dto.room.CapacityResolution;
+import com.kuke.videomeeting.model.dto.room.MediaServerRegisterRequestDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerRequestDto;
+import com.kuke.videomeeting.service.common.ResponseService;
+import com.kuke.videomeeting.service.room.MediaServerService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@Api(value = "Media Server Controller", tags = {"MediaServer"})
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class MediaServerController {
+    private final MediaServerRegistry mediaServerRegistry;
+    private final MediaServerService mediaServerService;
+    private final CapacityHistory capacityHistory;
+    private final ResponseService responseService;
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @GetMapping("/media-servers")
+    public Result readAllMediaServers() {
+        return responseService.getListResult(mediaServerRegistry.readAll());
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @PostMapping("/media-servers")
+    public Result registerMediaServer(@Valid @RequestBody MediaServerRegisterRequestDto requestDto) {
+        mediaServerRegistry.register(requestDto.getUrl(), requestDto.getMaxPublishers(), requestDto.getMaxBitrate(), requestDto.getWeight());
+        return responseService.getSuccessResult();
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @PutMapping("/media-servers/drain")
+    public Result drainMediaServer(@Valid @RequestBody MediaServerRequestDto requestDto) {
+        mediaServerRegistry.drain(requestDto.getUrl());
+        return responseService.getSuccessResult();
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @PutMapping("/media-servers/activate")
+    public Result activateMediaServer(@Valid @RequestBody MediaServerRequestDto requestDto) {
+        mediaServerRegistry.activate(requestDto.getUrl());
+        return responseService.getSuccessResult();
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @DeleteMapping("/media-servers")
+    public Result deregisterMediaServer(@Valid @RequestBody MediaServerRequestDto requestDto) {
+        mediaServerService.deregister(requestDto.getUrl());
+        return responseService.getSuccessResult();
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Authorization", value = "access-token", required = true, dataType = "String", paramType = "header")
+    })
+    @GetMapping("/media-servers/capacity")
+    public Result readCapacityHistory(@RequestParam(defaultValue = "MINUTE") CapacityResolution resolution,
+                                      @RequestParam(defaultValue = "60") int limit) {
+        return responseService.getSingleResult(capacityHistory.read(resolution, limit));
+    }
+}
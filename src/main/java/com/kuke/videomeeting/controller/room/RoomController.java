@@ -4,13 +4,16 @@ import com.kuke.videomeeting.model.auth.CustomUserDetails;
 import com.kuke.videomeeting.model.dto.response.Result;
 import com.kuke.videomeeting.model.dto.room.RoomCreateRequestDto;
 import com.kuke.videomeeting.service.common.ResponseService;
+import com.kuke.videomeeting.service.room.LobbyService;
 import com.kuke.videomeeting.service.room.RoomService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
@@ -22,6 +25,7 @@ import javax.validation.Valid;
 public class RoomController {
 
     private final RoomService roomService;
+    private final LobbyService lobbyService;
     private final ResponseService responseService;
 
 //    @ApiImplicitParams({
@@ -37,7 +41,13 @@ public class RoomController {
 
     @GetMapping("/rooms")
     public Result readAllRooms() {
-        return responseService.getSingleResult(roomService.readAllRooms());
+        return responseService.getSingleResult(lobbyService.readLobby());
+    }
+
+    @GetMapping(value = "/rooms/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeRooms() {
+        // 처음에 전체 목록(snapshot), 이후에는 추가/제거/참여자 수 변경(delta)만 전송
+        return lobbyService.subscribe();
     }
 
     @GetMapping("/rooms/sessions")
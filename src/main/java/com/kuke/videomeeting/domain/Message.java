@@ -8,10 +8,15 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = { // 보낸, 받은 메시지 스크롤 조회용
+        @Index(name = "idx_message_sender_scroll", columnList = "sender_id, senderDeleteStatus, message_id"),
+        @Index(name = "idx_message_receiver_scroll", columnList = "receiver_id, receiverDeleteStatus, message_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class Message extends CommonEntityDate{
+    public static final int PREVIEW_LENGTH = 100;
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "message_id")
@@ -21,6 +26,9 @@ public class Message extends CommonEntityDate{
     @Column(nullable = false)
     private String msg;
 
+    @Column(length = PREVIEW_LENGTH)
+    private String preview; // 목록 조회에서 본문(@Lob)을 읽지 않도록 앞부분만 따로 저장
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id")
     private User sender;
@@ -38,6 +46,7 @@ public class Message extends CommonEntityDate{
     public static Message createMessage(String msg, User sender, User receiver) {
         Message message = new Message();
         message.msg = msg;
+        message.preview = createPreview(msg);
         message.sender = sender;
         message.receiver = receiver;
         message.senderDeleteStatus = DeleteStatus.N;
@@ -53,5 +62,11 @@ public class Message extends CommonEntityDate{
         this.receiverDeleteStatus = deleteStatus;
     }
 
+    private static String createPreview(String msg) {
+        // 이모지 등 surrogate pair가 잘리지 않도록 code point 단위로 자름
+        if(msg == null || msg.codePointCount(0, msg.length()) <= PREVIEW_LENGTH) return msg;
+        return msg.substring(0, msg.offsetByCodePoints(0, PREVIEW_LENGTH));
+    }
+
 
 }
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 
@@ -28,6 +29,11 @@ public class Room {
 
     private String server; // 방에 연결된 서버 도메인
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @ColumnDefault("'ACTIVE'") // ddl-auto: update로 컬럼이 추가될 때 기존 방은 ACTIVE
+    private RoomStatus status;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -40,6 +46,22 @@ public class Room {
         room.pin = pin;
         room.server = server;
         room.user = user;
+        room.status = RoomStatus.ACTIVE;
+        return room;
+    }
+
+    public static Room createPendingRoom(String number, String title, String pin, String server, User user) {
+        // 미디어 서버에 방이 생성되기 전까지는 조회되지 않음
+        Room room = createRoom(number, title, pin, server, user);
+        room.status = RoomStatus.PENDING;
         return room;
     }
+
+    public void activate() {
+        this.status = RoomStatus.ACTIVE;
+    }
+
+    public boolean isActive() {
+        return status == RoomStatus.ACTIVE;
+    }
 }
@@ -0,0 +1,33 @@
+package com.kuke.videomeeting.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RoomOutbox extends CommonEntityDate { // 미디어 서버에 생성 요청했지만 아직 확정되지 않은 방
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "room_outbox_id")
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String number;
+
+    @Column(nullable = false)
+    private String server;
+
+    public static RoomOutbox createRoomOutbox(String number, String server) {
+        RoomOutbox outbox = new RoomOutbox();
+        outbox.number = number;
+        outbox.server = server;
+        return outbox;
+    }
+}
@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.domain;
+
+public enum RoomStatus {
+    PENDING, ACTIVE
+}
@@ -0,0 +1,19 @@
+package com.kuke.videomeeting.model.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MessageBulkDeleteRequestDto {
+    @NotEmpty
+    @Size(max = 500) // in 절 크기 제한
+    private List<@NotNull Long> messageIds;
+}
@@ -1,7 +1,7 @@
 package com.kuke.videomeeting.model.dto.message;
 
 import com.kuke.videomeeting.domain.Message;
-import com.kuke.videomeeting.model.dto.user.UserDto;
+import com.kuke.videomeeting.domain.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,21 +12,22 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-public class SimpleMessageDto implements Serializable {
+public class SimpleMessageDto implements Serializable { // 목록 조회용, 전체 본문은 메시지 단건 조회
     private Long id;
-    private String msg;
-    private UserDto user;
+    private String preview;
+    private Long userId; // 상대방
+    private String nickname;
     private LocalDateTime createdAt;
 
     public static SimpleMessageDto convertSentMessageToDto(Message message) {
-        return new SimpleMessageDto(message.getId(), message.getMsg(),
-                UserDto.convertUserToDto(message.getReceiver()),
-                message.getCreatedAt());
+        return convertMessageToDto(message, message.getReceiver());
     }
 
     public static SimpleMessageDto convertReceivedMessageToDto(Message message) {
-        return new SimpleMessageDto(message.getId(), message.getMsg(),
-                UserDto.convertUserToDto(message.getSender()),
-                message.getCreatedAt());
+        return convertMessageToDto(message, message.getSender());
+    }
+
+    private static SimpleMessageDto convertMessageToDto(Message message, User user) {
+        return new SimpleMessageDto(message.getId(), message.getPreview(), user.getId(), user.getNickname(), message.getCreatedAt());
     }
 }
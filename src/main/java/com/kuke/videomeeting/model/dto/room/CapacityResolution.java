@@ -0,0 +1,15 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public enum CapacityResolution {
+    MINUTE(1000L * 60), HOUR(1000L * 60 * 60);
+
+    private final long millis; // 한 버킷이 집계하는 기간
+
+    CapacityResolution(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CapacitySampleDto { // 버킷 기간 동안의 평균과 최대값, 수집되지 않은 지표는 null
+    private LocalDateTime time;
+    private Double rooms;
+    private Integer maxRooms;
+    private Double participants;
+    private Integer maxParticipants;
+    private Double sessions;
+    private Integer maxSessions;
+}
@@ -0,0 +1,7 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public interface JanusRoom {
+    String getRoom();
+    int getNum_participants();
+    String getMax_publishers();
+}
@@ -0,0 +1,15 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class LobbyDeltaDto {
+    private final long version;
+    private final List<LobbyEventDto> events;
+    private final LocalDateTime generatedAt;
+}
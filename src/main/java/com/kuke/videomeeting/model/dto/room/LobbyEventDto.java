@@ -0,0 +1,28 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class LobbyEventDto {
+    private LobbyEventType type;
+    private String server;
+    private String number;
+    private RoomDto room; // ROOM_ADDED일 때만 포함
+    private int num_participants;
+
+    public static LobbyEventDto createRoomAddedEvent(String server, RoomDto room) {
+        return new LobbyEventDto(LobbyEventType.ROOM_ADDED, server, room.getRoom(), room, room.getNum_participants());
+    }
+
+    public static LobbyEventDto createRoomRemovedEvent(String server, String number) {
+        return new LobbyEventDto(LobbyEventType.ROOM_REMOVED, server, number, null, 0);
+    }
+
+    public static LobbyEventDto createParticipantsChangedEvent(String server, RoomDto room) {
+        return new LobbyEventDto(LobbyEventType.PARTICIPANTS_CHANGED, server, room.getRoom(), null, room.getNum_participants());
+    }
+}
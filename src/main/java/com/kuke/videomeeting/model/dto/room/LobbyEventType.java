@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public enum LobbyEventType {
+    ROOM_ADDED, ROOM_REMOVED, PARTICIPANTS_CHANGED
+}
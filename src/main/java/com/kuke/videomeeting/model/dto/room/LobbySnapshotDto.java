@@ -0,0 +1,30 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class LobbySnapshotDto {
+    private final Map<String, List<RoomDto>> rooms;
+    private final Map<String, MediaServerStatus> status;
+    private final LocalDateTime generatedAt;
+
+    public static LobbySnapshotDto createSnapshot(MediaServerResultDto<List<RoomDto>> result, LocalDateTime generatedAt) {
+        return new LobbySnapshotDto(
+                result.getResult().entrySet().stream()
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> List.copyOf(e.getValue()))),
+                Map.copyOf(result.getStatus()),
+                generatedAt
+        );
+    }
+
+    public static LobbySnapshotDto createEmptySnapshot() {
+        return new LobbySnapshotDto(Map.of(), Map.of(), LocalDateTime.MIN);
+    }
+}
@@ -0,0 +1,18 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MediaServerDto {
+    private String url;
+    private MediaServerState state;
+    private Long lastHeartbeatAt;
+    private boolean alive;
+    private long maxPublishers;
+    private long maxBitrate;
+    private double weight;
+}
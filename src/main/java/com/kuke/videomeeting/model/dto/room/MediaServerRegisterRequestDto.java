@@ -0,0 +1,26 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MediaServerRegisterRequestDto {
+    @NotBlank
+    @Pattern(regexp = "^https?://[^/\\s]+$") // 경로 없이 scheme://host[:port]
+    private String url;
+    // 지정하지 않으면 설정 파일의 기본값 사용, 0은 제한 없음
+    @PositiveOrZero
+    private Long maxPublishers;
+    @PositiveOrZero
+    private Long maxBitrate;
+    @Positive
+    private Double weight;
+}
@@ -0,0 +1,17 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MediaServerRequestDto {
+    @NotBlank
+    @Pattern(regexp = "^https?://[^/\\s]+$") // 경로 없이 scheme://host[:port]
+    private String url;
+}
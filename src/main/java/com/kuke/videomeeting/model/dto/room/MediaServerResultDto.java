@@ -0,0 +1,19 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MediaServerResultDto<T> {
+    private Map<String, T> result; // 응답에 성공한 서버별 결과
+    private Map<String, MediaServerStatus> status; // 서버별 응답 상태
+
+    public boolean isSucceeded(String server) {
+        return status.get(server) == MediaServerStatus.OK;
+    }
+}
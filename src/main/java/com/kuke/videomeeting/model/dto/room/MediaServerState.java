@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public enum MediaServerState {
+    ACTIVE, DRAINING // DRAINING: 기존 방은 유지하고 새 방은 배정하지 않음
+}
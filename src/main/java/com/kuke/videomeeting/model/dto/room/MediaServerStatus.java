@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public enum MediaServerStatus {
+    OK, TIMEOUT, FAILURE, UNAVAILABLE
+}
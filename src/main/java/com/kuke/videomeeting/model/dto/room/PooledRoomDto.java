@@ -0,0 +1,22 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PooledRoomDto { // 미리 생성해둔 미디어 서버의 방
+    private String number;
+    private String pin;
+
+    public static PooledRoomDto parse(String value) {
+        int index = value.indexOf(':');
+        return new PooledRoomDto(value.substring(0, index), value.substring(index + 1));
+    }
+
+    public String format() {
+        return number + ":" + pin;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RoomDestroyResultDto {
+    private String server;
+    private String number;
+    private RoomDestroyStatus status;
+
+    public boolean isDestroyed() {
+        return status == RoomDestroyStatus.DESTROYED;
+    }
+}
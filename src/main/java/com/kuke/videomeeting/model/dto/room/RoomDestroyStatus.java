@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.model.dto.room;
+
+public enum RoomDestroyStatus {
+    DESTROYED, DB_FAILURE, FILE_FAILURE, MEDIA_SERVER_FAILURE
+}
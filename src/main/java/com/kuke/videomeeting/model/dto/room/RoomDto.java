@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-public class RoomDto {
+public class RoomDto implements JanusRoom {
     private String room;
     private String description;
     private String pin_required;
@@ -6,10 +6,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-public class RoomSimpleDto {
+public class RoomSimpleDto implements Serializable {
     private Long id;
     private String number; // 방번호
     private String title;
@@ -0,0 +1,12 @@
+package com.kuke.videomeeting.model.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RoomSummaryDto implements JanusRoom { // 내부 작업(부하 계산, 빈 방 정리)에 필요한 필드만 가진 방 정보
+    private final String room;
+    private final int num_participants;
+    private final String max_publishers;
+}
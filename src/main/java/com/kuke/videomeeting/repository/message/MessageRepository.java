@@ -1,24 +1,64 @@
 package com.kuke.videomeeting.repository.message;
 
 import com.kuke.videomeeting.domain.Message;
+import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    @Query("select m from Message m join fetch m.sender join fetch m.receiver " +
+    // 탐색 조건과 정렬 기준을 모두 id로 맞춰서 (sender_id, sender_delete_status, message_id) 인덱스를 역순으로 limit만큼만 읽도록 함(filesort 없음)
+    // 본문(@Lob)과 사용자 전체를 읽지 않도록 목록에 필요한 컬럼만 조회
+    @Query("select new com.kuke.videomeeting.model.dto.message.SimpleMessageDto(m.id, m.preview, r.id, r.nickname, m.createdAt) " +
+            "from Message m join m.receiver r " +
             "where m.sender.id = :userId and m.id < :lastMessageId and " +
-            "m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N order by m.createdAt desc")
-    Slice<Message> findSentMessagesByUserIdOrderByCreatedAt(@Param("userId") Long userId, @Param("lastMessageId") Long lastMessageId, Pageable pageable);
+            "m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N order by m.id desc")
+    Slice<SimpleMessageDto> findSentMessagesByUserIdOrderById(@Param("userId") Long userId, @Param("lastMessageId") Long lastMessageId, Pageable pageable);
 
-    @Query("select m from Message m join fetch m.sender join fetch m.receiver " +
+    @Query("select new com.kuke.videomeeting.model.dto.message.SimpleMessageDto(m.id, m.preview, s.id, s.nickname, m.createdAt) " +
+            "from Message m join m.sender s " +
             "where m.receiver.id = :userId and m.id < :lastMessageId and " +
-            "m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N order by m.createdAt desc")
-    Slice<Message> findReceivedMessagesByUserIdOrderByCreatedAt(@Param("userId") Long userId, @Param("lastMessageId") Long lastMessageId, Pageable pageable);
+            "m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N order by m.id desc")
+    Slice<SimpleMessageDto> findReceivedMessagesByUserIdOrderById(@Param("userId") Long userId, @Param("lastMessageId") Long lastMessageId, Pageable pageable);
 
+    // 사용자가 탈퇴하면 상대방 목록에서도 메시지가 사라지므로 아직 목록에 보이는 메시지의 상대방만 조회
+    @Query("select distinct m.receiver.id from Message m " +
+            "where m.sender.id = :userId and m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N")
+    List<Long> findReceiverIdsBySenderId(@Param("userId") Long userId);
+
+    @Query("select distinct m.sender.id from Message m " +
+            "where m.receiver.id = :userId and m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N")
+    List<Long> findSenderIdsByReceiverId(@Param("userId") Long userId);
+
+    @Query("select m from Message m join fetch m.sender join fetch m.receiver where m.id = :messageId")
+    Optional<Message> findWithUsersById(@Param("messageId") Long messageId);
+
+    // 여러 메시지 삭제는 id 목록과 소유자 조건으로 한 번에 처리, 상대방이 이미 삭제한 메시지는 지우고 나머지는 삭제 상태로 변경
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Message m where m.id in :messageIds and m.sender.id = :userId and " +
+            "m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.Y")
+    int deleteReceiverDeletedMessagesBySender(@Param("userId") Long userId, @Param("messageIds") Collection<Long> messageIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Message m set m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.Y " +
+            "where m.id in :messageIds and m.sender.id = :userId and m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N")
+    int updateSenderDeleteStatus(@Param("userId") Long userId, @Param("messageIds") Collection<Long> messageIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Message m where m.id in :messageIds and m.receiver.id = :userId and " +
+            "m.senderDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.Y")
+    int deleteSenderDeletedMessagesByReceiver(@Param("userId") Long userId, @Param("messageIds") Collection<Long> messageIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Message m set m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.Y " +
+            "where m.id in :messageIds and m.receiver.id = :userId and m.receiverDeleteStatus = com.kuke.videomeeting.domain.DeleteStatus.N")
+    int updateReceiverDeleteStatus(@Param("userId") Long userId, @Param("messageIds") Collection<Long> messageIds);
 }
@@ -0,0 +1,17 @@
+package com.kuke.videomeeting.repository.room;
+
+import com.kuke.videomeeting.domain.RoomOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RoomOutboxRepository extends JpaRepository<RoomOutbox, Long> {
+
+    Optional<RoomOutbox> findByNumber(String number);
+
+    boolean existsByServer(String server);
+
+    List<RoomOutbox> findTop100ByCreatedAtBeforeOrderByIdAsc(LocalDateTime createdAt);
+}
@@ -1,11 +1,36 @@
 package com.kuke.videomeeting.repository.room;
 
 import com.kuke.videomeeting.domain.Room;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
     Optional<Room> findByNumber(String number);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Room> findWithUserByNumber(String number);
+
+    List<Room> findAllByNumberIn(Collection<String> numbers);
+
+    boolean existsByServer(String server);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Room r where r.number in :numbers")
+    int deleteAllByNumberIn(@Param("numbers") Collection<String> numbers);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Room r set r.server = :target " +
+            "where r.number = :number and r.server = :source and r.status = com.kuke.videomeeting.domain.RoomStatus.ACTIVE")
+    int updateServer(@Param("number") String number, @Param("source") String source, @Param("target") String target);
 }
@@ -0,0 +1,47 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.service.room.RoomService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityHistoryScheduler {
+    private static final long SAMPLE_INTERVAL = 1000L * 60;
+    private static final long PERSIST_INTERVAL = 1000L * 300;
+    private static final String LOCK_NAME = "capacity-history";
+    private static final Duration LEASE = Duration.ofMillis(PERSIST_INTERVAL - 1000L * 10);
+
+    private final RoomService roomService;
+    private final CapacityHistory capacityHistory;
+    private final RedisLeaseLock leaseLock;
+
+    @Scheduled(fixedDelay = SAMPLE_INTERVAL)
+    public void sampleSessions() {
+        // 방 목록은 로비 갱신 때마다 기록되고, 세션 수는 따로 조회하는 곳이 없어서 주기적으로 조회
+        // 저장하는 인스턴스와 같은 lease를 사용해서 한 인스턴스에서만 조회하고, 조회할 때마다 lease 연장
+        if(!leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        try {
+            roomService.readAllSessions();
+        } catch (Exception e) {
+            log.warn("capacity session sampling failure - " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = PERSIST_INTERVAL)
+    public void persist() {
+        // 모든 인스턴스가 같은 목록을 기록하므로 lease를 가진 인스턴스만 저장
+        if(!leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        try {
+            capacityHistory.persist();
+        } catch (Exception e) {
+            log.warn("capacity history persist failure - " + e.getMessage());
+        }
+    }
+}
@@ -1,46 +1,91 @@
 package com.kuke.videomeeting.scheduler;
 
-import com.kuke.videomeeting.model.dto.room.RoomDto;
-import com.kuke.videomeeting.service.file.FileService;
+import com.kuke.videomeeting.model.dto.room.RoomDestroyResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomSummaryDto;
+import com.kuke.videomeeting.service.room.ParticipantCounterService;
+import com.kuke.videomeeting.service.room.RoomPoolService;
 import com.kuke.videomeeting.service.room.RoomService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class DestroyEmptyRoomScheduler {
+    private static final long INTERVAL = 1000L * 300;
+    private static final String LOCK_NAME = "destroy-empty-room";
+    // 여러 인스턴스 중 하나만 주기마다 한 번 실행되도록 lease를 주기보다 약간 짧게 유지하고 반납하지 않음
+    private static final Duration LEASE = Duration.ofMillis(INTERVAL - 1000L * 10);
+    // 이전 검사 결과가 너무 오래되었으면 두 번 연속 비어있던 것으로 보지 않음
+    private static final Duration PREV_EMPTY_ROOMS_TTL = Duration.ofMillis(INTERVAL * 3);
+
     private final RoomService roomService;
-    private final Map<String, Set<String>> prevEmptyRooms = new HashMap<>(); // 이전 검사에서 비어있다고 나온 방들
+    private final ParticipantCounterService participantCounterService;
+    private final RoomPoolService roomPoolService;
+    private final RedisLeaseLock leaseLock;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
 
-    @Scheduled(fixedDelay = 1000L * 300)
+    @Scheduled(fixedDelay = INTERVAL)
     public void destroyEmptyRoom() {
+        if(!leaseLock.tryAcquire(LOCK_NAME, LEASE)) {
+            meterRegistry.counter("janus.reaper.cycles", "outcome", "skipped").increment();
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             Map<String, Set<String>> emptyRooms = getEmptyRooms();
             Map<String, List<String>> destroyRooms = getDestroyRooms(emptyRooms);
+            leaseLock.renew(LOCK_NAME, LEASE);
             destroyRooms(emptyRooms, destroyRooms);
-            prevEmptyRooms.clear();
+            // 응답하지 못한 서버는 이전 검사 결과를 그대로 유지
             for (String s : emptyRooms.keySet()) {
-                prevEmptyRooms.put(s, emptyRooms.get(s));
+                writePrevEmptyRooms(s, emptyRooms.get(s));
             }
+            outcome = "success";
         } catch (Exception e) {
-            // empty
+            log.warn("destroy empty room failure - " + e.getMessage());
+        } finally {
+            meterRegistry.counter("janus.reaper.cycles", "outcome", outcome).increment();
+            sample.stop(meterRegistry.timer("janus.reaper.cycle.duration", "outcome", outcome));
         }
     }
 
     private Map<String, Set<String>> getEmptyRooms() throws Exception {
-        Map<String, List<RoomDto>> allRooms = roomService.readAllRooms();
+        // janus 이벤트로 참여자 수를 추적하고 있으면 미디어 서버에 목록을 요청하지 않음
+        Map<String, Map<String, Integer>> participants = participantCounterService.isSynced() ?
+                participantCounterService.readAllCounts() : readParticipantsFromMediaServer();
         Map<String, Set<String>> result = new HashMap<>();
+        for (String s : participants.keySet()) {
+            Map<String, Integer> rooms = participants.get(s);
+            Set<String> emptyRoom = rooms.entrySet().stream()
+                    .filter(i -> i.getValue() == 0)
+                    .map(i -> i.getKey())
+                    .collect(Collectors.toSet());
+            emptyRoom.removeAll(roomPoolService.readPooledNumbers(s)); // 할당 대기 중인 방은 비어있어도 파괴하지 않음
+            meterRegistry.counter("janus.reaper.rooms.scanned", "server", s).increment(rooms.size());
+            meterRegistry.counter("janus.reaper.rooms.empty", "server", s).increment(emptyRoom.size());
+            result.put(s, emptyRoom);
+        }
+        return result;
+    }
+
+    private Map<String, Map<String, Integer>> readParticipantsFromMediaServer() {
+        Map<String, List<RoomSummaryDto>> allRooms = roomService.readAllRoomSummaries().getResult();
+        Map<String, Map<String, Integer>> result = new HashMap<>();
         for (String s : allRooms.keySet()) {
-            List<RoomDto> rooms = allRooms.get(s);
-            result.put(s, rooms.stream()
-                    .filter(i -> i.getNum_participants() == 0)
-                    .map(i -> i.getRoom())
-                    .collect(Collectors.toSet()));
+            result.put(s, allRooms.get(s).stream()
+                    .collect(Collectors.toMap(RoomSummaryDto::getRoom, RoomSummaryDto::getNum_participants, (a, b) -> a)));
         }
         return result;
     }
@@ -49,8 +94,8 @@ public class DestroyEmptyRoomScheduler {
         Map<String, List<String>> result = new HashMap<>();
         for (String s : emptyRooms.keySet()) {
             Set<String> emptyRoom = emptyRooms.get(s);
-            if(!prevEmptyRooms.containsKey(s)) continue;
-            Set<String> prevEmptyRoom = prevEmptyRooms.get(s);
+            Set<String> prevEmptyRoom = readPrevEmptyRooms(s);
+            if(prevEmptyRoom == null) continue;
             result.put(s, emptyRoom.stream()
                     .filter(i -> prevEmptyRoom.contains(i)).collect(Collectors.toList()));
         }
@@ -58,18 +103,39 @@ public class DestroyEmptyRoomScheduler {
     }
 
     private void destroyRooms(Map<String, Set<String>> emptyRooms, Map<String, List<String>> destroyRooms) {
-        for (String s : destroyRooms.keySet()) {
-            List<String> destroyRoom = destroyRooms.get(s);
-            Set<String> emptyRoom = emptyRooms.get(s);
-            destroyRoom.stream().forEach(i -> {
-                try {
-                    roomService.destroyRoom(i, s);
-                    emptyRoom.remove(i); // 이미 제거한 빈방
-                } catch (Exception e) {
-                    // continue;
-                }
-            });
+        for (RoomDestroyResultDto result : roomService.destroyRooms(destroyRooms)) {
+            if(result.isDestroyed()) {
+                emptyRooms.get(result.getServer()).remove(result.getNumber()); // 이미 제거한 빈방
+                meterRegistry.counter("janus.reaper.rooms.destroyed", "server", result.getServer()).increment();
+            } else {
+                meterRegistry.counter("janus.reaper.rooms.failed", "server", result.getServer(),
+                        "status", result.getStatus().name()).increment();
+            }
         }
     }
 
+    private Set<String> readPrevEmptyRooms(String server) {
+        // 이전 검사 결과는 redis에 두고, 어느 인스턴스가 lease를 가져가도 이어서 판단할 수 있도록 함
+        if(!Boolean.TRUE.equals(redisTemplate.hasKey(generateCheckedKey(server)))) return null;
+        Set<String> members = redisTemplate.opsForSet().members(generatePrevEmptyRoomsKey(server));
+        return members == null ? Set.of() : members;
+    }
+
+    private void writePrevEmptyRooms(String server, Set<String> emptyRoom) {
+        String key = generatePrevEmptyRoomsKey(server);
+        redisTemplate.delete(key);
+        if(!emptyRoom.isEmpty()) {
+            redisTemplate.opsForSet().add(key, emptyRoom.toArray(new String[0]));
+            redisTemplate.expire(key, PREV_EMPTY_ROOMS_TTL);
+        }
+        redisTemplate.opsForValue().set(generateCheckedKey(server), String.valueOf(System.currentTimeMillis()), PREV_EMPTY_ROOMS_TTL);
+    }
+
+    private String generatePrevEmptyRoomsKey(String server) {
+        return "reaper:empty-rooms:" + server;
+    }
+
+    private String generateCheckedKey(String server) {
+        return "reaper:checked-at:" + server;
+    }
 }
@@ -0,0 +1,59 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MediaServerHeartbeatScheduler {
+    private static final long INTERVAL = 1000L * 10;
+    private static final String LOCK_NAME = "media-server-heartbeat";
+    private static final Duration LEASE = Duration.ofMillis(INTERVAL - 1000L);
+
+    private final MediaServerRegistry mediaServerRegistry;
+    private final JanusClient janusClient;
+    private final JanusRequestFactory janusRequestFactory;
+    private final RedisLeaseLock leaseLock;
+
+    @Scheduled(fixedDelay = INTERVAL)
+    public void heartbeat() {
+        // 등록된 서버에 ping을 보내서 응답한 서버만 heartbeat 갱신, 한 인스턴스에서만 실행
+        if(!leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        Map<String, CompletableFuture<ResponseEntity<String>>> futures = new LinkedHashMap<>();
+        for (String s : mediaServerRegistry.getServers()) {
+            futures.put(s, janusClient.postAsync(s, JanusOperation.PING, janusRequestFactory.ping()));
+        }
+        for (Map.Entry<String, CompletableFuture<ResponseEntity<String>>> entry : futures.entrySet()) {
+            try {
+                if(isPong(entry.getValue().get(INTERVAL / 2, TimeUnit.MILLISECONDS))) mediaServerRegistry.heartbeat(entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("media server heartbeat failure - " + entry.getKey() + " " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPong(ResponseEntity<String> response) {
+        if(response.getBody() == null) return false;
+        JsonElement janus = JsonParser.parseString(response.getBody()).getAsJsonObject().get("janus");
+        return janus != null && "pong".equals(janus.getAsString());
+    }
+}
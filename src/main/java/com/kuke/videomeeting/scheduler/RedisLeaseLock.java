@@ -0,0 +1,45 @@
+package com.kuke.videomeeting.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLeaseLock {
+    // 자신이 획득한 lease인 경우에만 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String name, Duration lease) {
+        // 이미 lease를 가지고 있는 인스턴스는 연장, 아니면 비어있을 때만 획득
+        try {
+            if(renew(name, lease)) return true;
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(generateKey(name), owner, lease));
+        } catch (Exception e) {
+            log.warn("lease lock acquire failure - " + name + " " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean renew(String name, Duration lease) {
+        Long result = redisTemplate.execute(RENEW_SCRIPT, List.of(generateKey(name)), owner, String.valueOf(lease.toMillis()));
+        return result != null && result == 1L;
+    }
+
+    private String generateKey(String name) {
+        return "lock:" + name;
+    }
+}
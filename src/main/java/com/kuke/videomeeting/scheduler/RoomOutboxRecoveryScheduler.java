@@ -0,0 +1,31 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.service.room.RoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomOutboxRecoveryScheduler {
+    private static final long INTERVAL = 1000L * 60;
+    private static final String LOCK_NAME = "room-outbox-recovery";
+    private static final Duration LEASE = Duration.ofMillis(INTERVAL - 1000L * 10);
+
+    private final RoomService roomService;
+    private final RedisLeaseLock leaseLock;
+
+    @Scheduled(fixedDelay = INTERVAL)
+    public void recoverPendingRooms() {
+        if(!leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        try {
+            roomService.recoverPendingRooms();
+        } catch (Exception e) {
+            log.warn("pending room recovery failure - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.client.janus.MediaServerHealthRegistry;
+import com.kuke.videomeeting.service.room.RoomPoolService;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomPoolScheduler {
+    private static final long INTERVAL = 1000L * 5;
+    private static final String LOCK_NAME = "room-pool";
+    // 한 인스턴스만 풀을 채우고, 그 인스턴스가 죽으면 lease 만료 후 다른 인스턴스가 이어서 채움
+    private static final Duration LEASE = Duration.ofMillis(INTERVAL * 3);
+
+    private final RoomPoolService roomPoolService;
+    private final MediaServerRegistry mediaServerRegistry;
+    private final MediaServerHealthRegistry healthRegistry;
+    private final RedisLeaseLock leaseLock;
+
+    @Scheduled(fixedDelay = INTERVAL)
+    public void replenish() {
+        if(!roomPoolService.isEnabled() || !leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        // drain 중인 서버의 대기 방은 풀에서 빼서 더 이상 할당되지 않도록 함
+        for (String s : mediaServerRegistry.getServers()) {
+            if(!mediaServerRegistry.isDraining(s)) continue;
+            try {
+                roomPoolService.release(s);
+            } catch (Exception e) {
+                log.warn("room pool release failure - " + s + " " + e.getMessage());
+            }
+        }
+        for (String s : healthRegistry.filterAvailable(mediaServerRegistry.getPlaceableServers())) {
+            try {
+                roomPoolService.replenish(s);
+            } catch (Exception e) {
+                log.warn("room pool replenish failure - " + s + " " + e.getMessage());
+            }
+        }
+    }
+}
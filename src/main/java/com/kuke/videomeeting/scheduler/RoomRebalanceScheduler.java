@@ -0,0 +1,34 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.service.room.RoomRebalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomRebalanceScheduler {
+    private static final long INTERVAL = 1000L * 60;
+    private static final String LOCK_NAME = "room-rebalance";
+    private static final Duration LEASE = Duration.ofMillis(INTERVAL - 1000L * 10);
+
+    private final RoomRebalanceService roomRebalanceService;
+    private final RedisLeaseLock leaseLock;
+
+    @Scheduled(fixedDelay = INTERVAL)
+    public void rebalance() {
+        if(!roomRebalanceService.isEnabled() || !leaseLock.tryAcquire(LOCK_NAME, LEASE)) return;
+        try {
+            int moved = roomRebalanceService.rebalance();
+            if(moved > 0) log.info("rebalanced rooms - " + moved);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("room rebalance failure - " + e.getMessage());
+        }
+    }
+}
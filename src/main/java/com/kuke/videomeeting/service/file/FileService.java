@@ -7,6 +7,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
 
 public interface FileService {
 
@@ -14,6 +16,8 @@ public interface FileService {
 
     void deleteFilesInDirectory(String path);
 
+    Set<String> deleteFilesInDirectories(Collection<String> paths); // 삭제에 실패한 경로 반환
+
     default File convertMultipartFileToFile(MultipartFile mFile, String tempPath) throws IOException {
         File file = new File(tempPath);
         if (file.createNewFile()) {
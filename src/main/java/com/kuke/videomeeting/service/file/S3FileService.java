@@ -1,10 +1,15 @@
 package com.kuke.videomeeting.service.file;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.amazonaws.services.s3.transfer.Upload;
+import com.kuke.videomeeting.advice.exception.FileDeleteFailureException;
 import com.kuke.videomeeting.advice.exception.FileUploadFailureException;
 import com.kuke.videomeeting.model.dto.file.FileUploadRequestDto;
 import com.kuke.videomeeting.model.dto.file.FileUploadResponseDto;
@@ -14,11 +19,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class S3FileService implements FileService {
 
+    private static final int MAX_DELETE_KEYS = 1000;
     private final AmazonS3 amazonS3;
 
     @Value("${cloud.aws.s3.bucket}")
@@ -51,8 +59,39 @@ public class S3FileService implements FileService {
 
     @Override
     public void deleteFilesInDirectory(String path) {
-        for (S3ObjectSummary file : amazonS3.listObjects(bucket, path).getObjectSummaries()) {
-            amazonS3.deleteObject(bucket, file.getKey());
+        if(!deleteFilesInDirectories(List.of(path)).isEmpty()) throw new FileDeleteFailureException();
+    }
+
+    @Override
+    public Set<String> deleteFilesInDirectories(Collection<String> paths) {
+        // 디렉토리별 파일 목록을 모아서 multi-object delete 요청 한 번에 최대 1000개씩 삭제
+        Set<String> failure = new HashSet<>();
+        Map<String, String> keyToPath = new HashMap<>();
+        for (String path : paths) {
+            try {
+                String prefix = path + "/";
+                ObjectListing listing = amazonS3.listObjects(bucket, prefix);
+                while (true) {
+                    for (S3ObjectSummary file : listing.getObjectSummaries()) keyToPath.put(file.getKey(), path);
+                    if(!listing.isTruncated()) break;
+                    listing = amazonS3.listNextBatchOfObjects(listing);
+                }
+            } catch (Exception e) {
+                failure.add(path);
+            }
+        }
+        List<String> keys = new ArrayList<>(keyToPath.keySet());
+        for (int i = 0; i < keys.size(); i += MAX_DELETE_KEYS) {
+            List<KeyVersion> chunk = keys.subList(i, Math.min(i + MAX_DELETE_KEYS, keys.size())).stream()
+                    .map(KeyVersion::new).collect(Collectors.toList());
+            try {
+                amazonS3.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(chunk).withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                for (MultiObjectDeleteException.DeleteError error : e.getErrors()) failure.add(keyToPath.get(error.getKey()));
+            } catch (Exception e) {
+                for (KeyVersion key : chunk) failure.add(keyToPath.get(key.getKey()));
+            }
         }
+        return failure;
     }
 }
@@ -3,19 +3,20 @@ package com.kuke.videomeeting.service.message;
 import com.kuke.videomeeting.advice.exception.MessageNotFoundException;
 import com.kuke.videomeeting.advice.exception.NotResourceOwnerException;
 import com.kuke.videomeeting.advice.exception.UserNotFoundException;
+import com.kuke.videomeeting.cache.MessageCacheGeneration;
+import com.kuke.videomeeting.cache.MessageHeadCache;
 import com.kuke.videomeeting.config.cache.CacheKey;
 import com.kuke.videomeeting.domain.DeleteStatus;
 import com.kuke.videomeeting.domain.Message;
 import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.message.MessageBulkDeleteRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageCreateRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageDto;
 import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
 import com.kuke.videomeeting.repository.message.MessageRepository;
 import com.kuke.videomeeting.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
@@ -24,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,36 +34,61 @@ import java.util.stream.Collectors;
 public class MessageService {
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final MessageCacheGeneration messageCacheGeneration;
+    private final MessageHeadCache messageHeadCache;
 
-    @Cacheable(value = CacheKey.SENT_MESSAGES, key="{#userId, #lastMessageId, #limit}", unless = "#result == null")
+    @Cacheable(value = CacheKey.SENT_MESSAGES, key="{#userId, @messageCacheGeneration.getSent(#userId), #lastMessageId, #limit}", unless = "#result == null")
     public Slice<SimpleMessageDto> readAllSentMessagesUsingScroll(Long userId, Long lastMessageId, int limit) {
-        return messageRepository.findSentMessagesByUserIdOrderByCreatedAt(userId, lastMessageId, PageRequest.of(0, limit))
-                .map(m -> SimpleMessageDto.convertSentMessageToDto(m));
+        // 최근 메시지 범위의 스크롤은 redis head에서 조회하고, 더 깊은 스크롤만 DB 조회
+        return messageHeadCache.readSent(userId, lastMessageId, limit, n -> readSentMessages(userId, Long.MAX_VALUE, n).getContent())
+                .orElseGet(() -> readSentMessages(userId, lastMessageId, limit));
     }
 
-    @Cacheable(value = CacheKey.RECEIVED_MESSAGES, key="{#userId, #lastMessageId, #limit}", unless = "#result == null")
+    @Cacheable(value = CacheKey.RECEIVED_MESSAGES, key="{#userId, @messageCacheGeneration.getReceived(#userId), #lastMessageId, #limit}", unless = "#result == null")
     public Slice<SimpleMessageDto> readAllReceivedMessagesUsingScroll(Long userId, Long lastMessageId, int limit) {
-        return messageRepository.findReceivedMessagesByUserIdOrderByCreatedAt(userId, lastMessageId, PageRequest.of(0, limit))
-                .map(m -> SimpleMessageDto.convertReceivedMessageToDto(m));
+        return messageHeadCache.readReceived(userId, lastMessageId, limit, n -> readReceivedMessages(userId, Long.MAX_VALUE, n).getContent())
+                .orElseGet(() -> readReceivedMessages(userId, lastMessageId, limit));
+    }
+
+    private Slice<SimpleMessageDto> readSentMessages(Long userId, Long lastMessageId, int limit) {
+        return messageRepository.findSentMessagesByUserIdOrderById(userId, lastMessageId, PageRequest.of(0, limit));
+    }
+
+    private Slice<SimpleMessageDto> readReceivedMessages(Long userId, Long lastMessageId, int limit) {
+        return messageRepository.findReceivedMessagesByUserIdOrderById(userId, lastMessageId, PageRequest.of(0, limit));
+    }
+
+    public MessageDto readMessage(Long userId, Long messageId) {
+        // 보낸 사람, 받은 사람 중 아직 삭제하지 않은 쪽만 조회 가능
+        Message message = messageRepository.findWithUsersById(messageId).orElseThrow(MessageNotFoundException::new);
+        boolean sent = Objects.equals(userId, message.getSender().getId());
+        boolean received = Objects.equals(userId, message.getReceiver().getId());
+        if(!sent && !received) throw new NotResourceOwnerException();
+        boolean visible = (sent && message.getSenderDeleteStatus() == DeleteStatus.N) ||
+                (received && message.getReceiverDeleteStatus() == DeleteStatus.N);
+        if(!visible) throw new MessageNotFoundException();
+        return MessageDto.convertMessageToDto(message);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = CacheKey.SENT_MESSAGES, key="#userId", allEntries = true),
-            @CacheEvict(value = CacheKey.RECEIVED_MESSAGES, key="#requestDto.receiverId", allEntries = true)
-    })
     @Transactional
     public MessageDto createMessage(Long userId, MessageCreateRequestDto requestDto) {
         User sender = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
         User receiver = userRepository.findById(requestDto.getReceiverId()).orElseThrow(UserNotFoundException::new);
         Message message = messageRepository.save(Message.createMessage(requestDto.getMsg(), sender, receiver));
+        // 버전을 먼저 올려야 head를 채우는 중인 조회가 이 메시지가 빠진 목록을 저장하지 않음
+        messageCacheGeneration.bumpSent(userId);
+        messageCacheGeneration.bumpReceived(requestDto.getReceiverId());
+        messageHeadCache.addSent(userId, SimpleMessageDto.convertSentMessageToDto(message));
+        messageHeadCache.addReceived(requestDto.getReceiverId(), SimpleMessageDto.convertReceivedMessageToDto(message));
         return MessageDto.convertMessageToDto(message);
     }
 
-    @CacheEvict(value = CacheKey.SENT_MESSAGES, key="#senderId", allEntries = true)
     @Transactional
     public void deleteMessageBySender(Long senderId, Long messageId) {
         Message message = messageRepository.findById(messageId).orElseThrow(MessageNotFoundException::new);
         if(!Objects.equals(senderId, message.getSender().getId())) throw new NotResourceOwnerException();
+        messageCacheGeneration.bumpSent(senderId);
+        messageHeadCache.removeSent(senderId, messageId);
         if(message.getReceiverDeleteStatus().equals(DeleteStatus.Y)) {
             messageRepository.delete(message);
         } else {
@@ -69,11 +96,12 @@ public class MessageService {
         }
     }
 
-    @CacheEvict(value = CacheKey.RECEIVED_MESSAGES, key="#receiverId", allEntries = true)
     @Transactional
     public void deleteMessageByReceiver(Long receiverId, Long messageId) {
         Message message = messageRepository.findById(messageId).orElseThrow(MessageNotFoundException::new);
         if(!Objects.equals(receiverId, message.getReceiver().getId())) throw new NotResourceOwnerException();
+        messageCacheGeneration.bumpReceived(receiverId);
+        messageHeadCache.removeReceived(receiverId, messageId);
         if(message.getSenderDeleteStatus().equals(DeleteStatus.Y)) {
             messageRepository.delete(message);
         } else {
@@ -81,4 +109,29 @@ public class MessageService {
         }
     }
 
+    @Transactional
+    public int deleteMessagesBySender(Long senderId, MessageBulkDeleteRequestDto requestDto) {
+        // 본인이 보낸 메시지만 조건에 걸리므로 다른 사용자의 메시지나 이미 삭제한 메시지는 무시됨
+        Set<Long> messageIds = Set.copyOf(requestDto.getMessageIds());
+        int deleted = messageRepository.deleteReceiverDeletedMessagesBySender(senderId, messageIds);
+        int updated = messageRepository.updateSenderDeleteStatus(senderId, messageIds);
+        if(deleted + updated > 0) {
+            messageCacheGeneration.bumpSent(senderId);
+            messageHeadCache.evictSent(senderId);
+        }
+        return deleted + updated;
+    }
+
+    @Transactional
+    public int deleteMessagesByReceiver(Long receiverId, MessageBulkDeleteRequestDto requestDto) {
+        Set<Long> messageIds = Set.copyOf(requestDto.getMessageIds());
+        int deleted = messageRepository.deleteSenderDeletedMessagesByReceiver(receiverId, messageIds);
+        int updated = messageRepository.updateReceiverDeleteStatus(receiverId, messageIds);
+        if(deleted + updated > 0) {
+            messageCacheGeneration.bumpReceived(receiverId);
+            messageHeadCache.evictReceived(receiverId);
+        }
+        return deleted + updated;
+    }
+
 }
@@ -0,0 +1,152 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.model.dto.room.*;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class LobbyEventService implements DisposableBean {
+    private final MediaServerRegistry mediaServerRegistry;
+    // 느린 구독자가 로비 갱신과 구독 요청을 막지 않도록 전송은 별도 스레드 하나에서 요청 순서대로 처리
+    private final Executor sender;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<String, RoomDto>> rooms = new HashMap<>(); // 마지막으로 전송한 서버별 방 목록
+    private Map<String, MediaServerStatus> status = Map.of();
+    private LocalDateTime generatedAt = LocalDateTime.MIN;
+    private long version;
+
+    @Value("${janus.lobby.sse-timeout-ms:1800000}")
+    private long timeout;
+
+    @Autowired
+    public LobbyEventService(MediaServerRegistry mediaServerRegistry) {
+        this(mediaServerRegistry, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "lobby-event-sender");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    LobbyEventService(MediaServerRegistry mediaServerRegistry, Executor sender) {
+        this.mediaServerRegistry = mediaServerRegistry;
+        this.sender = sender;
+    }
+
+    public synchronized SseEmitter subscribe() {
+        // 구독 시점의 전체 목록을 한 번 보내고, 이후에는 변경분만 전송
+        // 목록은 publish와 같은 락 안에서 만들고 전송 스레드에 순서대로 넘겨서 목록과 변경분 사이에 빠지는 이벤트가 없도록 함
+        SseEmitter emitter = new SseEmitter(timeout);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        LobbySnapshotDto snapshot = createSnapshot();
+        String id = String.valueOf(version);
+        sender.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().id(id).name("snapshot").data(snapshot));
+                emitters.add(emitter);
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    public synchronized void publish(LobbySnapshotDto snapshot) {
+        // 응답한 서버만 결과에 포함되므로, 응답하지 못한 서버는 이전 목록을 유지해서 제거 이벤트를 보내지 않음
+        // 레지스트리에서 제거된 서버는 응답할 일이 없으므로 방을 모두 제거
+        List<LobbyEventDto> events = new ArrayList<>();
+        Iterator<Map.Entry<String, Map<String, RoomDto>>> iterator = rooms.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Map<String, RoomDto>> entry = iterator.next();
+            if(snapshot.getRooms().containsKey(entry.getKey()) || mediaServerRegistry.contains(entry.getKey())) continue;
+            events.addAll(diff(entry.getKey(), entry.getValue(), Map.of()));
+            iterator.remove();
+        }
+        for (Map.Entry<String, List<RoomDto>> entry : snapshot.getRooms().entrySet()) {
+            Map<String, RoomDto> next = entry.getValue().stream()
+                    .collect(Collectors.toMap(RoomDto::getRoom, r -> r, (a, b) -> a, LinkedHashMap::new));
+            events.addAll(diff(entry.getKey(), rooms.getOrDefault(entry.getKey(), Map.of()), next));
+            rooms.put(entry.getKey(), next);
+        }
+        status = snapshot.getStatus();
+        generatedAt = snapshot.getGeneratedAt();
+        if(events.isEmpty()) return;
+        version++;
+        LobbyDeltaDto delta = new LobbyDeltaDto(version, events, generatedAt);
+        send(() -> SseEmitter.event().id(String.valueOf(delta.getVersion())).name("delta").data(delta));
+    }
+
+    @Scheduled(fixedDelayString = "${janus.lobby.sse-heartbeat-ms:30000}")
+    public void heartbeat() {
+        // 변경이 없는 동안 프록시가 유휴 연결을 끊지 않도록 주석 이벤트 전송
+        send(() -> SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void destroy() {
+        if(sender instanceof ExecutorService) ((ExecutorService) sender).shutdownNow();
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    static List<LobbyEventDto> diff(String server, Map<String, RoomDto> prev, Map<String, RoomDto> next) {
+        List<LobbyEventDto> events = new ArrayList<>();
+        for (RoomDto room : next.values()) {
+            RoomDto prevRoom = prev.get(room.getRoom());
+            if(prevRoom == null || !Objects.equals(prevRoom.getDescription(), room.getDescription())) {
+                events.add(LobbyEventDto.createRoomAddedEvent(server, room)); // 제목이 바뀐 방은 다시 추가해서 덮어씀
+            } else if(prevRoom.getNum_participants() != room.getNum_participants()) {
+                events.add(LobbyEventDto.createParticipantsChangedEvent(server, room));
+            }
+        }
+        for (String number : prev.keySet()) {
+            if(!next.containsKey(number)) events.add(LobbyEventDto.createRoomRemovedEvent(server, number));
+        }
+        return events;
+    }
+
+    private LobbySnapshotDto createSnapshot() {
+        return new LobbySnapshotDto(
+                rooms.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> List.copyOf(e.getValue().values()))),
+                status,
+                generatedAt
+        );
+    }
+
+    private void send(Supplier<SseEmitter.SseEventBuilder> event) {
+        // builder는 전송할 때 내용이 변경되므로 구독자마다 새로 생성
+        sender.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(event.get());
+                } catch (Exception e) {
+                    // 연결이 끊긴 구독자는 제거, 정리는 컨테이너의 에러 콜백에 맡김
+                    emitters.remove(emitter);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,189 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.model.dto.room.LobbySnapshotDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LobbyService {
+    private static final int PENDING_COUNT = -1; // 참여자 수는 0 이상이므로 다음 갱신 때 항상 다시 조회됨
+
+    private final RoomService roomService;
+    private final ParticipantCounterService participantCounterService;
+    private final RoomRepository roomRepository;
+    private final LobbyEventService lobbyEventService;
+    private final AtomicReference<LobbySnapshotDto> snapshot = new AtomicReference<>(LobbySnapshotDto.createEmptySnapshot());
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile MediaServerResultDto<List<RoomDto>> lastFullResult;
+    private volatile long lastFullRefreshAt;
+    private volatile long lastAttemptAt;
+    // 마지막 전체 조회 이후 카운터에만 있는 방, 갱신은 refreshLock 안에서만 실행됨
+    private final Map<String, Map<String, RoomDto>> discoveredRooms = new HashMap<>(); // DB에서 찾은 방
+    private final Map<String, Map<String, Integer>> missingRooms = new HashMap<>(); // DB에 없던 방(대기 방 등)과 조회 당시 참여자 수
+
+    @Value("${janus.lobby.max-staleness-ms:10000}")
+    private long maxStaleness;
+
+    @Value("${janus.lobby.full-refresh-ms:60000}")
+    private long fullRefreshInterval;
+
+    @Value("${janus.lobby.retry-backoff-ms:5000}")
+    private long retryBackoff;
+
+    public LobbySnapshotDto readLobby() {
+        // 백그라운드 갱신이 밀려서 허용 범위보다 오래된 경우에만 직접 갱신
+        // 다른 스레드가 갱신 중이거나 최근 갱신을 시도했으면(janus 장애 등) 기다리지 않고 현재 스냅샷을 generatedAt, status와 함께 반환
+        LobbySnapshotDto current = snapshot.get();
+        if(!isStale(current) || isBackingOff()) return current;
+        if(!refreshLock.tryLock()) return current;
+        try {
+            current = snapshot.get();
+            if(isStale(current) && !isBackingOff()) current = doRefresh();
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public SseEmitter subscribe() {
+        readLobby(); // 스냅샷이 오래되었으면 갱신한 뒤 구독 시작
+        return lobbyEventService.subscribe();
+    }
+
+    @Scheduled(fixedDelayString = "${janus.lobby.refresh-ms:3000}")
+    public void refresh() {
+        if(!refreshLock.tryLock()) return; // 이미 다른 스레드에서 갱신 중
+        try {
+            doRefresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private LobbySnapshotDto doRefresh() {
+        lastAttemptAt = System.currentTimeMillis();
+        try {
+            LobbySnapshotDto next = LobbySnapshotDto.createSnapshot(readRooms(), LocalDateTime.now());
+            snapshot.set(next);
+            lobbyEventService.publish(next); // 이전 스냅샷과 달라진 방만 구독자에게 전송
+            return next;
+        } catch (Exception e) {
+            log.warn("lobby refresh failure - " + e.getMessage());
+            return snapshot.get(); // 실패하면 이전 스냅샷 유지
+        }
+    }
+
+    private MediaServerResultDto<List<RoomDto>> readRooms() {
+        // 이벤트로 참여자 수를 추적 중이면 전체 목록은 가끔만 조회하고, 그 사이에는 카운터를 반영해서 스냅샷 생성
+        long now = System.currentTimeMillis();
+        if(lastFullResult == null || now - lastFullRefreshAt > fullRefreshInterval || !participantCounterService.isSynced()) {
+            lastFullResult = excludePooledRooms(roomService.readAllRooms());
+            lastFullRefreshAt = now;
+            discoveredRooms.clear();
+            missingRooms.clear();
+            return lastFullResult;
+        }
+        return applyParticipantCounts(lastFullResult);
+    }
+
+    private MediaServerResultDto<List<RoomDto>> excludePooledRooms(MediaServerResultDto<List<RoomDto>> base) {
+        // 아직 할당되지 않은 미리 생성된 방은 로비에 노출하지 않음
+        Map<String, List<RoomDto>> result = new HashMap<>();
+        for (String s : base.getResult().keySet()) {
+            result.put(s, base.getResult().get(s).stream()
+                    .filter(r -> !RoomPoolService.isPooled(r.getDescription()))
+                    .collect(Collectors.toList()));
+        }
+        return new MediaServerResultDto<>(result, base.getStatus());
+    }
+
+    private MediaServerResultDto<List<RoomDto>> applyParticipantCounts(MediaServerResultDto<List<RoomDto>> base) {
+        Map<String, List<RoomDto>> result = new HashMap<>();
+        for (String s : base.getResult().keySet()) {
+            Map<String, Integer> counts = new HashMap<>(participantCounterService.readCounts(s));
+            List<RoomDto> rooms = new ArrayList<>();
+            for (RoomDto room : base.getResult().get(s)) {
+                Integer count = counts.remove(room.getRoom());
+                if(count == null) continue; // 이미 파괴된 방
+                rooms.add(copyRoomDto(room, count));
+            }
+            if(!counts.isEmpty()) { // 마지막 전체 조회 이후에 생성된 방
+                for (Map.Entry<String, RoomDto> e : readDiscoveredRooms(s, counts).entrySet()) {
+                    rooms.add(copyRoomDto(e.getValue(), counts.get(e.getKey())));
+                }
+            }
+            result.put(s, rooms);
+        }
+        return new MediaServerResultDto<>(result, base.getStatus());
+    }
+
+    private Map<String, RoomDto> readDiscoveredRooms(String server, Map<String, Integer> counts) {
+        // 처음 보는 방과 DB에 없던 방 중 참여자 수가 바뀐 방(할당된 대기 방 등)만 DB에서 조회
+        Map<String, RoomDto> discovered = discoveredRooms.computeIfAbsent(server, k -> new HashMap<>());
+        Map<String, Integer> missing = missingRooms.computeIfAbsent(server, k -> new HashMap<>());
+        Set<String> unknown = counts.keySet().stream()
+                .filter(n -> !discovered.containsKey(n) && !counts.get(n).equals(missing.get(n)))
+                .collect(Collectors.toSet());
+        if(!unknown.isEmpty()) {
+            Set<String> pending = new HashSet<>();
+            for (Room room : roomRepository.findAllByNumberIn(unknown)) {
+                if(!room.isActive()) { // 생성이 확정되지 않았거나 취소될 방은 노출하지 않음
+                    pending.add(room.getNumber());
+                    continue;
+                }
+                discovered.put(room.getNumber(), createRoomDto(room, 0));
+                missing.remove(room.getNumber());
+            }
+            for (String number : unknown) {
+                if(discovered.containsKey(number)) continue;
+                // 확정되지 않은 방은 참여자 수가 바뀌지 않아도 확정될 때까지 갱신마다 다시 조회
+                missing.put(number, pending.contains(number) ? PENDING_COUNT : counts.get(number));
+            }
+        }
+        discovered.keySet().retainAll(counts.keySet()); // 파괴된 방
+        missing.keySet().retainAll(counts.keySet());
+        return discovered;
+    }
+
+    private RoomDto copyRoomDto(RoomDto room, int numParticipants) {
+        RoomDto copy = new RoomDto();
+        BeanUtils.copyProperties(room, copy);
+        copy.setNum_participants(numParticipants);
+        return copy;
+    }
+
+    private RoomDto createRoomDto(Room room, int numParticipants) {
+        RoomDto dto = new RoomDto();
+        dto.setRoom(room.getNumber());
+        dto.setDescription(room.getTitle());
+        dto.setPin_required(String.valueOf(room.getPin() != null));
+        dto.setNum_participants(numParticipants);
+        return dto;
+    }
+
+    private boolean isBackingOff() {
+        return System.currentTimeMillis() - lastAttemptAt < retryBackoff;
+    }
+
+    private boolean isStale(LobbySnapshotDto snapshot) {
+        return snapshot.getGeneratedAt().isBefore(LocalDateTime.now().minus(maxStaleness, ChronoUnit.MILLIS));
+    }
+}
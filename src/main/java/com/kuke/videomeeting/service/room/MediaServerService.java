@@ -0,0 +1,27 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.advice.exception.MediaServerNotEmptyException;
+import com.kuke.videomeeting.repository.room.RoomOutboxRepository;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MediaServerService {
+    private final MediaServerRegistry mediaServerRegistry;
+    private final RoomRepository roomRepository;
+    private final RoomOutboxRepository roomOutboxRepository;
+    private final RoomPoolService roomPoolService;
+
+    public void deregister(String server) {
+        // 제거된 서버는 방 목록 조회, 빈 방 정리, rebalance 대상에서 빠지므로 남은 방은 영영 정리되지 않음
+        // drain 후 방이 모두 옮겨지거나 파괴되고, 생성 중인 방과 대기 방(pool)도 정리된 서버만 제거
+        if(roomRepository.existsByServer(server) || roomOutboxRepository.existsByServer(server)
+                || !roomPoolService.readPooledNumbers(server).isEmpty()) {
+            throw new MediaServerNotEmptyException();
+        }
+        mediaServerRegistry.deregister(server);
+    }
+}
@@ -0,0 +1,172 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.advice.exception.AuthenticationEntryPointException;
+import com.kuke.videomeeting.model.dto.room.JanusRoom;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+
+@Service
+@Slf4j
+public class ParticipantCounterService {
+    private static final String VIDEOROOM_PLUGIN = "janus.plugin.videoroom";
+    private static final int PLUGIN_EVENT_TYPE = 64;
+
+    // KEYS: 카운터 / ARGV: (room, count)...
+    // 삭제와 덮어쓰기를 한 번에 실행해서 읽는 쪽에서 빈 카운터가 보이지 않도록 함
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('del', KEYS[1]) " +
+            "for i = 1, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MediaServerRegistry mediaServerRegistry;
+    private final Map<String, String> emitterToServer = new HashMap<>();
+    private final boolean enabled;
+    private final String credential;
+    private final Duration resyncInterval;
+
+    public ParticipantCounterService(
+            StringRedisTemplate redisTemplate,
+            MediaServerRegistry mediaServerRegistry,
+            @Value("${janus.server}") List<String> server,
+            @Value("${janus.events.enabled:false}") boolean enabled,
+            @Value("${janus.events.emitter:}") List<String> emitter,
+            @Value("${janus.events.user:}") String user,
+            @Value("${janus.events.password:}") String password,
+            @Value("${janus.events.resync-sec:1800}") long resyncSec) {
+        this.redisTemplate = redisTemplate;
+        this.mediaServerRegistry = mediaServerRegistry;
+        this.enabled = enabled;
+        this.credential = password.isEmpty() ? null :
+                "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.resyncInterval = Duration.ofSeconds(resyncSec);
+        // janus.server 순서대로 각 janus 인스턴스의 server_name(emitter) 지정, 없으면 서버 주소를 그대로 emitter로 사용
+        for (int i = 0; i < server.size(); i++) {
+            emitterToServer.put(i < emitter.size() ? emitter.get(i) : server.get(i), server.get(i));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void handleEvents(String authorization, String body) {
+        if(!enabled || credential == null || authorization == null ||
+                !MessageDigest.isEqual(credential.getBytes(StandardCharsets.UTF_8), authorization.getBytes(StandardCharsets.UTF_8))) {
+            throw new AuthenticationEntryPointException();
+        }
+        JsonElement root = JsonParser.parseString(body);
+        if(root.isJsonArray()) { // event handler의 grouping 옵션이 켜져 있으면 배열로 전달됨
+            for (JsonElement e : root.getAsJsonArray()) handleEvent(e);
+        } else {
+            handleEvent(root);
+        }
+    }
+
+    public boolean isSynced() {
+        // 모든 서버가 주기적인 전체 동기화 이후 이벤트로 갱신되고 있을 때만 카운터를 신뢰
+        if(!enabled) return false;
+        for (String s : mediaServerRegistry.getServers()) {
+            if(!Boolean.TRUE.equals(redisTemplate.hasKey(generateSyncedKey(s)))) return false;
+        }
+        return true;
+    }
+
+    public Map<String, Integer> readCounts(String server) {
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(generateKey(server)).entrySet()) {
+            result.put(entry.getKey().toString(), Math.max(0, Integer.parseInt(entry.getValue().toString())));
+        }
+        return result;
+    }
+
+    public Map<String, Map<String, Integer>> readAllCounts() {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        for (String s : mediaServerRegistry.getServers()) result.put(s, readCounts(s));
+        return result;
+    }
+
+    public void resync(String server, List<? extends JanusRoom> rooms) {
+        // 전체 목록 조회 결과로 카운터를 덮어써서 유실된 이벤트로 인한 오차를 보정
+        if(!enabled) return;
+        try {
+            List<String> args = new ArrayList<>();
+            for (JanusRoom room : rooms) {
+                args.add(room.getRoom());
+                args.add(String.valueOf(room.getNum_participants()));
+            }
+            redisTemplate.execute(REPLACE_SCRIPT, List.of(generateKey(server)), args.toArray());
+            redisTemplate.opsForValue().set(generateSyncedKey(server), String.valueOf(System.currentTimeMillis()), resyncInterval);
+        } catch (Exception e) {
+            log.warn("participant counter resync failure - " + server, e);
+        }
+    }
+
+    public void remove(String server, String room) {
+        if(!enabled) return;
+        try {
+            redisTemplate.opsForHash().delete(generateKey(server), room);
+        } catch (Exception e) {
+            log.warn("participant counter remove failure - " + server + " " + room);
+        }
+    }
+
+    private void handleEvent(JsonElement element) {
+        if(!element.isJsonObject()) return;
+        JsonObject event = element.getAsJsonObject();
+        if(!event.has("type") || event.get("type").getAsInt() != PLUGIN_EVENT_TYPE) return;
+        String server = event.has("emitter") ? findServer(event.get("emitter").getAsString()) : null;
+        if(server == null) return;
+        JsonObject body = event.getAsJsonObject("event");
+        if(body == null || !body.has("plugin") || !VIDEOROOM_PLUGIN.equals(body.get("plugin").getAsString())) return;
+        JsonObject data = body.getAsJsonObject("data");
+        if(data == null || !data.has("event") || !data.has("room")) return;
+        String room = data.get("room").getAsString();
+        String key = generateKey(server);
+        switch (data.get("event").getAsString()) {
+            case "created":
+                redisTemplate.opsForHash().putIfAbsent(key, room, "0");
+                break;
+            case "joined":
+                redisTemplate.opsForHash().increment(key, room, 1);
+                break;
+            case "leaving":
+                redisTemplate.opsForHash().increment(key, room, -1);
+                break;
+            case "destroyed":
+                redisTemplate.opsForHash().delete(key, room);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String findServer(String emitter) {
+        // 런타임에 등록된 서버는 서버 주소를 그대로 emitter로 사용
+        String server = emitterToServer.get(emitter);
+        if(server == null && mediaServerRegistry.contains(emitter)) return emitter;
+        return server;
+    }
+
+    private String generateKey(String server) {
+        return "janus:participants:" + server;
+    }
+
+    private String generateSyncedKey(String server) {
+        return "janus:participants:synced:" + server;
+    }
+}
@@ -0,0 +1,48 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.domain.RoomOutbox;
+import com.kuke.videomeeting.repository.room.RoomOutboxRepository;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RoomOutboxService {
+    // 방 생성은 예약(pending 저장) -> 미디어 서버 요청(트랜잭션 밖) -> 확정 순서로 처리
+    // 각 단계는 짧은 트랜잭션으로 나누고, 확정되지 못한 방은 outbox에 남아서 복구 작업이 정리함
+    private final RoomRepository roomRepository;
+    private final RoomOutboxRepository roomOutboxRepository;
+
+    @Transactional
+    public Room reserve(Room room) {
+        roomOutboxRepository.save(RoomOutbox.createRoomOutbox(room.getNumber(), room.getServer()));
+        return roomRepository.save(room);
+    }
+
+    @Transactional
+    public boolean confirm(String number) {
+        // 복구 작업이 먼저 정리한 방이면 확정 실패
+        Room room = roomRepository.findByNumber(number).orElse(null);
+        if(room == null) return false;
+        room.activate();
+        roomOutboxRepository.findByNumber(number).ifPresent(roomOutboxRepository::delete);
+        return true;
+    }
+
+    @Transactional
+    public void cancel(String number) {
+        roomRepository.findByNumber(number).filter(r -> !r.isActive()).ifPresent(roomRepository::delete);
+        roomOutboxRepository.findByNumber(number).ifPresent(roomOutboxRepository::delete);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RoomOutbox> readStaleEntries(LocalDateTime createdAt) {
+        return roomOutboxRepository.findTop100ByCreatedAtBeforeOrderByIdAsc(createdAt);
+    }
+}
@@ -0,0 +1,128 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.model.dto.room.PooledRoomDto;
+import com.kuke.videomeeting.model.dto.room.RoomCreateResultDto;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RoomPoolService {
+    // 아직 사용자에게 할당되지 않은 방의 description, 로비에서 보이지 않도록 함
+    public static final String POOL_DESCRIPTION = "__pool__";
+
+    private final JanusClient janusClient;
+    private final JanusRequestFactory janusRequestFactory;
+    private final MediaServerCapacityLedger capacityLedger;
+    private final StringRedisTemplate redisTemplate;
+    private final Gson gson;
+    private final int size;
+    private final int maxCreatePerCycle;
+    private final int publishers;
+
+    public RoomPoolService(
+            JanusClient janusClient,
+            JanusRequestFactory janusRequestFactory,
+            MediaServerCapacityLedger capacityLedger,
+            StringRedisTemplate redisTemplate,
+            Gson gson,
+            @Value("${janus.pool.size-per-server:10}") int size,
+            @Value("${janus.pool.max-create-per-cycle:5}") int maxCreatePerCycle,
+            @Value("${janus.room.publishers:100}") int publishers) {
+        this.janusClient = janusClient;
+        this.janusRequestFactory = janusRequestFactory;
+        this.capacityLedger = capacityLedger;
+        this.publishers = publishers;
+        this.redisTemplate = redisTemplate;
+        this.gson = gson;
+        this.size = size;
+        this.maxCreatePerCycle = maxCreatePerCycle;
+    }
+
+    public Optional<PooledRoomDto> claim(String server, String title) {
+        // 여러 인스턴스가 동시에 꺼내도 같은 방을 받지 않도록 SPOP 사용
+        // 꺼낸 뒤 description 변경에 실패한 방은 풀에서 빠졌으므로 빈 방 정리 작업에서 파괴됨
+        if(size <= 0) return Optional.empty();
+        try {
+            String value = redisTemplate.opsForSet().pop(generateKey(server));
+            if(value == null) return Optional.empty();
+            PooledRoomDto room = PooledRoomDto.parse(value);
+            ResponseEntity<String> response = janusClient.post(server, JanusOperation.EDIT,
+                    janusRequestFactory.editRoom(room.getNumber(), title));
+            RoomCreateResultDto result = gson.fromJson(response.getBody(), RoomCreateResultDto.class);
+            if(result.getResponse() == null || !"edited".equals(result.getResponse().getVideoroom())) {
+                log.warn("pooled room edit failure - " + server + " " + room.getNumber());
+                return Optional.empty();
+            }
+            return Optional.of(room);
+        } catch (Exception e) {
+            log.warn("pooled room claim failure - " + server + " " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void replenish(String server) {
+        // 한 주기에 생성하는 방 수를 제한해서 미디어 서버에 부담을 주지 않음
+        Long count = redisTemplate.opsForSet().size(generateKey(server));
+        int deficit = Math.min(size - (count == null ? 0 : count.intValue()), maxCreatePerCycle);
+        for (int i = 0; i < deficit; i++) {
+            // 미리 생성하는 방도 서버 용량을 차지하므로 생성 전에 예약
+            if(!capacityLedger.tryReserve(server, publishers)) return;
+            String pin = generateRoomPin();
+            RoomCreateResultDto result;
+            try {
+                ResponseEntity<String> response = janusClient.post(server, JanusOperation.CREATE, janusRequestFactory.createRoom(null, POOL_DESCRIPTION, pin));
+                result = gson.fromJson(response.getBody(), RoomCreateResultDto.class);
+            } catch (Exception e) {
+                capacityLedger.release(server, publishers, 1);
+                throw e;
+            }
+            if(result.getResponse() == null || result.getResponse().getRoom() == null) {
+                log.warn("pooled room create failure - " + server);
+                capacityLedger.release(server, publishers, 1);
+                return;
+            }
+            redisTemplate.opsForSet().add(generateKey(server), new PooledRoomDto(result.getResponse().getRoom(), pin).format());
+        }
+    }
+
+    public Set<String> readPooledNumbers(String server) {
+        Set<String> members = redisTemplate.opsForSet().members(generateKey(server));
+        if(members == null) return Set.of();
+        return members.stream().map(m -> PooledRoomDto.parse(m).getNumber()).collect(Collectors.toSet());
+    }
+
+    public static boolean isPooled(String description) {
+        return POOL_DESCRIPTION.equals(description);
+    }
+
+    public void release(String server) {
+        // 풀에서만 제거하고, 아무도 사용하지 않는 빈 방이므로 빈 방 정리 작업에서 파괴됨
+        redisTemplate.delete(generateKey(server));
+    }
+
+    public boolean isEnabled() {
+        return size > 0;
+    }
+
+    private String generateRoomPin() {
+        return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+    }
+
+    private String generateKey(String server) {
+        return "janus:room-pool:" + server;
+    }
+}
@@ -0,0 +1,236 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.cache.RoomCache;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.model.dto.room.RoomCreateResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomSimpleDto;
+import com.kuke.videomeeting.model.dto.room.RoomSummaryDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoadTracker;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RoomRebalanceService {
+    private final RoomService roomService;
+    private final RoomRepository roomRepository;
+    private final JanusClient janusClient;
+    private final JanusRequestFactory janusRequestFactory;
+    private final MediaServerRegistry mediaServerRegistry;
+    private final MediaServerLoadTracker loadTracker;
+    private final MediaServerCapacityLedger capacityLedger;
+    private final ParticipantCounterService participantCounterService;
+    private final RoomCache roomCache;
+    private final Gson gson;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double minDifference;
+    private final int maxMovesPerCycle;
+    private final long moveInterval;
+    private final int publishers;
+
+    public RoomRebalanceService(
+            RoomService roomService,
+            RoomRepository roomRepository,
+            JanusClient janusClient,
+            JanusRequestFactory janusRequestFactory,
+            MediaServerRegistry mediaServerRegistry,
+            MediaServerLoadTracker loadTracker,
+            MediaServerCapacityLedger capacityLedger,
+            ParticipantCounterService participantCounterService,
+            RoomCache roomCache,
+            Gson gson,
+            MeterRegistry meterRegistry,
+            @Value("${janus.rebalance.enabled:false}") boolean enabled,
+            @Value("${janus.rebalance.min-difference:20}") double minDifference,
+            @Value("${janus.rebalance.max-moves-per-cycle:5}") int maxMovesPerCycle,
+            @Value("${janus.rebalance.move-interval-ms:500}") long moveInterval,
+            @Value("${janus.room.publishers:100}") int publishers) {
+        this.roomService = roomService;
+        this.roomRepository = roomRepository;
+        this.janusClient = janusClient;
+        this.janusRequestFactory = janusRequestFactory;
+        this.mediaServerRegistry = mediaServerRegistry;
+        this.loadTracker = loadTracker;
+        this.capacityLedger = capacityLedger;
+        this.participantCounterService = participantCounterService;
+        this.roomCache = roomCache;
+        this.gson = gson;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minDifference = minDifference;
+        this.maxMovesPerCycle = maxMovesPerCycle;
+        this.moveInterval = moveInterval;
+        this.publishers = publishers;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int rebalance() throws InterruptedException {
+        // 참여자가 있는 방은 옮기면 연결이 끊기므로 빈 방만 옮기고, 한 주기에 옮기는 방 수와 간격을 제한
+        Map<String, List<RoomSummaryDto>> rooms = roomService.readAllRoomSummaries().getResult(); // 부하 정보도 함께 갱신
+        Map<String, Double> scores = new HashMap<>();
+        for (String s : rooms.keySet()) scores.put(s, loadTracker.getLoad(s).getScore());
+        Map<String, Deque<Room>> candidates = new HashMap<>();
+        int moved = 0, attempts = 0;
+        while (attempts < maxMovesPerCycle && !scores.isEmpty()) {
+            List<String> targets = capacityLedger.filterAvailable(mediaServerRegistry.getPlaceableServers().stream()
+                    .filter(scores::containsKey).collect(Collectors.toList()), publishers);
+            if(targets.isEmpty()) break;
+            String target = Collections.min(targets, Comparator.comparingDouble(scores::get));
+            String source = selectSource(scores, target);
+            if(source == null) break;
+            Room room = candidates.computeIfAbsent(source, s -> readEmptyRooms(s, rooms.get(s))).poll();
+            if(room == null) { // 더 옮길 수 있는 빈 방이 없는 서버
+                scores.remove(source);
+                continue;
+            }
+            // 실패한 시도도 대상 서버에 생성, 파괴 요청을 보내므로 성공 여부와 관계없이 한도와 간격에 포함
+            attempts++;
+            if(move(room, source, target)) {
+                moved++;
+                // 방 하나의 점수는 1이 아니라 max_publishers 가중치까지 포함
+                double removed = loadTracker.getLoad(source).getRoomScore(readMaxPublishers(rooms.get(source), room.getNumber()));
+                double added = loadTracker.getLoad(target).getRoomScore(publishers);
+                scores.computeIfPresent(source, (k, v) -> v - removed);
+                scores.computeIfPresent(target, (k, v) -> v + added);
+            }
+            if(attempts < maxMovesPerCycle) Thread.sleep(moveInterval);
+        }
+        return moved;
+    }
+
+    private String selectSource(Map<String, Double> scores, String target) {
+        // drain 중인 서버의 빈 방은 부하 차이와 관계없이 옮기고, 그 외에는 가장 부하가 큰 서버와 차이가 클 때만 옮김
+        Optional<String> draining = scores.keySet().stream()
+                .filter(s -> !s.equals(target) && mediaServerRegistry.isDraining(s))
+                .findFirst();
+        if(draining.isPresent()) return draining.get();
+        String source = Collections.max(scores.keySet(), Comparator.comparingDouble(scores::get));
+        if(source.equals(target) || scores.get(source) - scores.get(target) < minDifference) return null;
+        return source;
+    }
+
+    private int readMaxPublishers(List<RoomSummaryDto> rooms, String number) {
+        return rooms.stream()
+                .filter(r -> number.equals(r.getRoom()))
+                .findFirst()
+                .map(r -> {
+                    try {
+                        return Integer.parseInt(r.getMax_publishers());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                })
+                .orElse(publishers);
+    }
+
+    private Deque<Room> readEmptyRooms(String server, List<RoomSummaryDto> rooms) {
+        // DB에 활성 상태로 있는 방만 대상, 대기 방(pool)과 생성 중인 방은 제외됨
+        Set<String> empty = rooms.stream()
+                .filter(r -> r.getNum_participants() == 0)
+                .map(RoomSummaryDto::getRoom)
+                .collect(Collectors.toSet());
+        if(empty.isEmpty()) return new ArrayDeque<>();
+        return roomRepository.findAllByNumberIn(empty).stream()
+                .filter(r -> r.isActive() && server.equals(r.getServer()))
+                .collect(Collectors.toCollection(ArrayDeque::new));
+    }
+
+    private boolean move(Room room, String source, String target) {
+        // 1. 대상 서버에 같은 번호, pin으로 생성, 2. DB의 서버 변경, 3. 원래 서버에서 파괴
+        String number = room.getNumber();
+        if(!capacityLedger.tryReserve(target, publishers)) return false;
+        if(!createRoom(target, room)) {
+            capacityLedger.release(target, publishers, 1);
+            recordMove(source, target, "create_failure");
+            return false;
+        }
+        if(roomRepository.updateServer(number, source, target) == 0) { // 그 사이 파괴되었거나 다른 곳에서 옮긴 방
+            rollback(room, target);
+            recordMove(source, target, "conflict");
+            return false;
+        }
+        refreshCache(number);
+        // 옮기는 동안 원래 서버에 참여자가 들어왔으면 되돌림
+        if(hasParticipants(source, number)) {
+            roomRepository.updateServer(number, target, source);
+            refreshCache(number);
+            rollback(room, target);
+            recordMove(source, target, "joined");
+            return false;
+        }
+        try {
+            janusClient.post(source, JanusOperation.DESTROY, janusRequestFactory.destroyRoom(number));
+        } catch (Exception e) {
+            // 원래 서버에 남은 빈 방은 DB와 연결되지 않으므로 빈 방 정리 작업에서 파괴됨
+            log.warn("rebalance source destroy failure - " + source + " " + number + " " + e.getMessage());
+        }
+        participantCounterService.remove(source, number);
+        capacityLedger.release(source, publishers, 1);
+        loadTracker.reserve(target, publishers);
+        recordMove(source, target, "moved");
+        return true;
+    }
+
+    private boolean createRoom(String server, Room room) {
+        try {
+            ResponseEntity<String> response = janusClient.post(server, JanusOperation.CREATE, janusRequestFactory.createRoom(room.getNumber(), room.getTitle(), room.getPin()));
+            RoomCreateResultDto result = gson.fromJson(response.getBody(), RoomCreateResultDto.class);
+            return result.getResponse() != null && room.getNumber().equals(result.getResponse().getRoom());
+        } catch (Exception e) {
+            // 생성 여부를 알 수 없는 방은 DB와 연결되지 않은 빈 방이므로 빈 방 정리 작업에서 파괴됨
+            log.warn("rebalance create failure - " + server + " " + room.getNumber() + " " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void rollback(Room room, String target) {
+        try {
+            janusClient.post(target, JanusOperation.DESTROY, janusRequestFactory.destroyRoom(room.getNumber()));
+        } catch (Exception e) {
+            log.warn("rebalance rollback failure - " + target + " " + room.getNumber() + " " + e.getMessage());
+        }
+        capacityLedger.release(target, publishers, 1);
+    }
+
+    private boolean hasParticipants(String server, String number) {
+        try {
+            ResponseEntity<String> response = janusClient.post(server, JanusOperation.LIST_PARTICIPANTS,
+                    janusRequestFactory.listParticipants(number));
+            JsonObject data = JsonParser.parseString(response.getBody()).getAsJsonObject().getAsJsonObject("response");
+            JsonArray participants = data == null ? null : data.getAsJsonArray("participants");
+            return participants == null || participants.size() > 0;
+        } catch (Exception e) {
+            return true; // 확인할 수 없으면 옮기지 않음
+        }
+    }
+
+    private void refreshCache(String number) {
+        roomRepository.findWithUserByNumber(number)
+                .map(RoomSimpleDto::convertRoomToDtoWithoutPin)
+                .ifPresent(roomCache::put);
+    }
+
+    private void recordMove(String source, String target, String outcome) {
+        meterRegistry.counter("janus.rebalance.moves", "source", source, "target", target, "outcome", outcome).increment();
+    }
+}
@@ -2,170 +2,348 @@ package com.kuke.videomeeting.service.room;
 
 import com.google.gson.Gson;
 import com.kuke.videomeeting.advice.exception.*;
+import com.kuke.videomeeting.cache.RoomCache;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.client.janus.JanusResponseParser;
 import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.domain.RoomOutbox;
 import com.kuke.videomeeting.domain.User;
 import com.kuke.videomeeting.model.dto.room.*;
 import com.kuke.videomeeting.repository.room.RoomRepository;
 import com.kuke.videomeeting.repository.user.UserRepository;
 import com.kuke.videomeeting.service.file.FileService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoadTracker;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import com.kuke.videomeeting.service.room.placement.PlacementEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RoomService {
-    private final RestTemplate restTemplate;
+    private final JanusClient janusClient;
+    private final JanusResponseParser janusResponseParser;
+    private final JanusRequestFactory janusRequestFactory;
     private final UserRepository userRepository;
     private final FileService fileService;
     private final RoomRepository roomRepository;
-    private final int publishers = 100;
+    private final PlacementEngine placementEngine;
+    private final MediaServerRegistry mediaServerRegistry;
+    private final MediaServerCapacityLedger capacityLedger;
+    private final MediaServerLoadTracker loadTracker;
+    private final CapacityHistory capacityHistory;
+    private final ParticipantCounterService participantCounterService;
+    private final RoomCache roomCache;
+    private final RoomPoolService roomPoolService;
+    private final RoomOutboxService roomOutboxService;
+    private static final int DESTROY_BATCH_SIZE = 500;
     private final Gson gson;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${janus.admin.secret}")
-    private String adminSecret;
+    @Value("${janus.fanout.deadline-ms:2500}")
+    private long fanOutDeadline;
 
-    @Value("${janus.server}")
-    private List<String> server; // (+/janus: media), (+/admin: admin)
+    @Value("${janus.destroy.parallelism-per-server:4}")
+    private int destroyParallelism;
 
-    @Value("${janus.room.secret}")
-    private String roomSecret;
+    @Value("${janus.outbox.stale-ms:60000}")
+    private long outboxStale;
+
+    @Value("${janus.room.publishers:100}")
+    private int publishers;
 
-    @Transactional
     public RoomSimpleDto createRoom(Long userId, RoomCreateRequestDto requestDto) {
-        // 방 생성이 정상적으로 처리되었을 때 DB에 저장
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        String pin = generateRoomPin(), server = getServer();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RoomSimpleDto result = null;
         try {
-            HttpEntity<String> request = generateRequest(generateJsonForCreatingRoom(requestDto, pin));
-            ResponseEntity<String> response = sendPostRequest(request, server);
-            if(response.getStatusCode() == HttpStatus.OK) {
-                RoomCreateResultDto result = gson.fromJson(response.getBody(), RoomCreateResultDto.class);
-                Room room = roomRepository.save(
-                        Room.createRoom(result.getResponse().getRoom(), requestDto.getTitle(), pin, server, user)
-                );
-                return RoomSimpleDto.convertRoomToDto(room);
-            }
-        } catch (Exception e) {
-            throw new CreateRoomFailureException();
+            result = createRoomInMediaServer(userId, requestDto);
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("room.operations", "operation", "create",
+                    "server", result == null ? "none" : result.getServer(), "outcome", result == null ? "failure" : "success"));
         }
-        throw new MediaServerCommunicationFailureException();
     }
 
-    @Transactional(readOnly = true)
-    public RoomSimpleDto readRoomInDB(String number) {
-        Room room = roomRepository.findByNumber(number).orElseThrow(RoomNotFoundException::new);
-        return RoomSimpleDto.convertRoomToDtoWithoutPin(room);
-    }
+    private RoomSimpleDto createRoomInMediaServer(Long userId, RoomCreateRequestDto requestDto) {
+        // 미디어 서버 요청 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 요청
+        User user = recordDependency("create", "mysql", () -> userRepository.findById(userId))
+                .orElseThrow(UserNotFoundException::new);
+        String server = getServer();
+        // 미리 생성해둔 방이 있으면 description만 변경해서 사용
+        Optional<PooledRoomDto> pooled = roomPoolService.claim(server, requestDto.getTitle());
+        if(pooled.isPresent()) {
+            Room room = Room.createRoom(pooled.get().getNumber(), requestDto.getTitle(), pooled.get().getPin(), server, user);
+            recordDependency("create", "mysql", () -> roomRepository.save(room));
+            return completeRoomCreation(room);
+        }
 
-    public Map<String, List<RoomDto>> readAllRooms() {
+        // 1. 서버 용량과 방 번호를 pending 상태로 예약, 2. 미디어 서버에 생성 요청, 3. 확정
+        server = reserveCapacity(server);
+        String number = generateRoomNumber(), pin = generateRoomPin();
+        Room room;
         try {
-            Map<String, List<RoomDto>> result = new HashMap<>();
-            for (String s : server) {
-                HttpEntity<String> request = generateRequest(generateJsonForRoomList());
-                ResponseEntity<String> response = sendPostRequest(request, s);
-                RoomListResultDto listResult = gson.fromJson(response.getBody(), RoomListResultDto.class);
-                result.put(s, listResult.getResponse().getList());
-            }
-            return result;
+            Room pending = Room.createPendingRoom(number, requestDto.getTitle(), pin, server, user);
+            room = recordDependency("create", "mysql", () -> roomOutboxService.reserve(pending));
         } catch (Exception e) {
-            throw new ReadAllRoomsFailureException();
+            capacityLedger.release(server, publishers, 1);
+            throw e;
         }
+        boolean created;
+        try {
+            ResponseEntity<String> response = janusClient.post(server, JanusOperation.CREATE, janusRequestFactory.createRoom(number, requestDto.getTitle(), pin));
+            RoomCreateResultDto result = gson.fromJson(response.getBody(), RoomCreateResultDto.class);
+            created = response.getStatusCode() == HttpStatus.OK && result.getResponse() != null
+                    && number.equals(result.getResponse().getRoom());
+        } catch (MediaServerUnavailableException e) {
+            roomOutboxService.cancel(number); // 요청을 보내지 않았으므로 바로 취소
+            capacityLedger.release(server, publishers, 1);
+            throw e;
+        } catch (Exception e) {
+            // timeout 등으로 생성 여부를 알 수 없으면 outbox에 남겨두고 복구 작업에서 정리
+            throw new CreateRoomFailureException();
+        }
+        if(!created) {
+            roomOutboxService.cancel(number);
+            capacityLedger.release(server, publishers, 1);
+            throw new MediaServerCommunicationFailureException();
+        }
+        if(!recordDependency("create", "mysql", () -> roomOutboxService.confirm(number))) throw new CreateRoomFailureException();
+        room.activate();
+        return completeRoomCreation(room);
     }
 
-    public Map<String, List<String>> readAllSessions() {
-        try {
-            Map<String, List<String>> result = new HashMap<>();
-            for (String s : server) {
-                HttpEntity<String> request = generateRequest(generateJsonForReadingAllSessions());
-                ResponseEntity<String> response = sendPostRequest(request, getServer());
-                SessionResultDto sessionResult = gson.fromJson(response.getBody(), SessionResultDto.class);
-                result.put(s, sessionResult.getSessions());
+    public void recoverPendingRooms() {
+        // 오래 확정되지 못한 방은 미디어 서버에 생성되었을 수도 있으므로 파괴 요청 후 pending 방과 outbox 제거
+        // 미디어 서버에 없는 방이면 에러 응답을 받지만 결과는 같으므로 무시
+        LocalDateTime staleAt = LocalDateTime.now().minus(outboxStale, ChronoUnit.MILLIS);
+        for (RoomOutbox outbox : roomOutboxService.readStaleEntries(staleAt)) {
+            try {
+                janusClient.post(outbox.getServer(), JanusOperation.DESTROY, janusRequestFactory.destroyRoom(outbox.getNumber()));
+                roomOutboxService.cancel(outbox.getNumber());
+                capacityLedger.release(outbox.getServer(), publishers, 1);
+            } catch (Exception e) {
+                log.warn("pending room recovery failure - " + outbox.getNumber() + " " + e.getMessage());
             }
-            return result;
-        } catch (Exception e) {
-            throw new ReadAllSessionsFailureException();
         }
     }
 
+    private String reserveCapacity(String selected) {
+        // 선택한 서버의 용량이 그 사이에 다른 요청으로 찼으면 남은 서버 중에서 다시 선택
+        List<String> candidates = new ArrayList<>(mediaServerRegistry.getPlaceableServers());
+        while (!capacityLedger.tryReserve(selected, publishers)) {
+            candidates.remove(selected);
+            List<String> available = capacityLedger.filterAvailable(candidates, publishers);
+            if(available.isEmpty()) throw new MediaServerSaturatedException();
+            selected = placementEngine.select(available);
+        }
+        return selected;
+    }
+
+    private RoomSimpleDto completeRoomCreation(Room room) {
+        loadTracker.reserve(room.getServer(), publishers);
+        roomCache.put(RoomSimpleDto.convertRoomToDtoWithoutPin(room));
+        return RoomSimpleDto.convertRoomToDto(room);
+    }
+
+    public RoomSimpleDto readRoomInDB(String number) {
+        // 캐시에 없을 때만 DB 조회, 없는 방 번호도 캐싱
+        return roomCache.get(number, n -> roomRepository.findWithUserByNumber(n)
+                .filter(Room::isActive)
+                .map(RoomSimpleDto::convertRoomToDtoWithoutPin))
+                .orElseThrow(RoomNotFoundException::new);
+    }
+
+    public MediaServerResultDto<List<RoomDto>> readAllRooms() {
+        // 공개 API(로비)용, 방 정보 전체를 반환
+        return readAllRooms(janusResponseParser::parseRoomList);
+    }
+
+    public MediaServerResultDto<List<RoomSummaryDto>> readAllRoomSummaries() {
+        // 내부 작업용, 방 번호와 참여자 수 등 필요한 필드만 반환
+        return readAllRooms(janusResponseParser::parseRoomSummaryList);
+    }
+
+    private <T extends JanusRoom> MediaServerResultDto<List<T>> readAllRooms(Function<String, List<T>> parser) {
+        MediaServerResultDto<List<T>> result = fanOut(JanusOperation.LIST, janusRequestFactory.listRooms(), parser);
+        if(result.getResult().isEmpty() && !result.getStatus().isEmpty()) throw new ReadAllRoomsFailureException();
+        result.getResult().forEach(loadTracker::update);
+        result.getResult().forEach(capacityHistory::recordRooms);
+        result.getResult().forEach(capacityLedger::resync);
+        result.getResult().forEach(participantCounterService::resync);
+        return result;
+    }
+
+    public MediaServerResultDto<List<String>> readAllSessions() {
+        MediaServerResultDto<List<String>> result = fanOut(JanusOperation.LIST_SESSIONS, janusRequestFactory.listSessions(),
+                janusResponseParser::parseSessions);
+        if(result.getResult().isEmpty() && !result.getStatus().isEmpty()) throw new ReadAllSessionsFailureException();
+        result.getResult().forEach(capacityHistory::recordSessions);
+        return result;
+    }
+
     @Transactional
     public void destroyRoom(String number, String server) {
         // 생성 시점에 미디어 서버와 DB는 둘다 생성이 보장되어 있음
         // 이미 제거 요청된 방이고, 미디어 서버에서 어차피 또 가져와서 삭제 요청할 것이므로
         // 예외 발생하더라도 롤백 안해도됨. DB에 있든 없든, 0명으로 나왔으니 삭제시켜야함
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
-            roomRepository.findByNumber(number).ifPresent(r -> roomRepository.delete(r));
-            fileService.deleteFilesInDirectory(number);
-            HttpEntity<String> request = generateRequest(generateJsonForDestructionRoom(number));
-            sendPostRequest(request, server);
+            recordDependency("destroy", "mysql", () -> {
+                roomRepository.findByNumber(number).ifPresent(r -> roomRepository.delete(r));
+                return null;
+            });
+            roomCache.evict(number);
+            recordDependency("destroy", "s3", () -> {
+                fileService.deleteFilesInDirectory(number);
+                return null;
+            });
+            janusClient.post(server, JanusOperation.DESTROY, janusRequestFactory.destroyRoom(number));
+            participantCounterService.remove(server, number);
+            capacityLedger.release(server, publishers, 1);
+            outcome = "success";
         } catch(Exception e) {
             throw new DestroyRoomFailureException();
+        } finally {
+            sample.stop(meterRegistry.timer("room.operations", "operation", "destroy", "server", server, "outcome", outcome));
         }
     }
 
-    private HttpEntity<String> generateRequest(String json) {
-        return new HttpEntity<>(json, generateApplicationJsonHeader());
-    }
-
-    private HttpHeaders generateApplicationJsonHeader() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return headers;
-    }
-
-    private ResponseEntity<String> sendPostRequest(HttpEntity<String> request, String server) throws Exception {
-        return restTemplate.postForEntity(server + "/admin", request, String.class);
-    }
+    public List<RoomDestroyResultDto> destroyRooms(Map<String, List<String>> rooms) {
+        // 1. DB는 bulk delete, 2. S3는 multi-object delete, 3. 미디어 서버는 서버별 동시 요청 수를 제한해서 병렬로 파괴
+        // 단건 파괴와 마찬가지로 앞 단계가 실패한 방은 미디어 서버에 남겨두고 다음 검사에서 다시 파괴
+        List<RoomDestroyResultDto> result = new ArrayList<>();
+        Map<String, List<String>> destroyable = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : rooms.entrySet()) {
+            List<String> numbers = entry.getValue();
+            Set<String> failure = new HashSet<>();
+            for (int i = 0; i < numbers.size(); i += DESTROY_BATCH_SIZE) {
+                List<String> batch = numbers.subList(i, Math.min(i + DESTROY_BATCH_SIZE, numbers.size()));
+                try {
+                    recordDependency("destroy", "mysql", () -> roomRepository.deleteAllByNumberIn(batch));
+                    batch.forEach(roomCache::evict);
+                } catch (Exception e) {
+                    log.warn("room bulk delete failure - " + entry.getKey(), e);
+                    batch.forEach(n -> result.add(new RoomDestroyResultDto(entry.getKey(), n, RoomDestroyStatus.DB_FAILURE)));
+                    failure.addAll(batch);
+                }
+            }
+            List<String> deleted = numbers.stream().filter(n -> !failure.contains(n)).collect(Collectors.toList());
+            Set<String> fileFailure = deleted.isEmpty() ? Set.of() :
+                    recordDependency("destroy", "s3", () -> fileService.deleteFilesInDirectories(deleted));
+            fileFailure.forEach(n -> result.add(new RoomDestroyResultDto(entry.getKey(), n, RoomDestroyStatus.FILE_FAILURE)));
+            destroyable.put(entry.getKey(), deleted.stream().filter(n -> !fileFailure.contains(n)).collect(Collectors.toList()));
+        }
 
-    private String generateJsonForCreatingRoom(RoomCreateRequestDto requestDto, String pin) {
-        return "{" +
-                "\"janus\":\"message_plugin\", " +
-                "\"plugin\":\"janus.plugin.videoroom\", " +
-                "\"transaction\":\"" + (int) (Math.random() * Integer.MAX_VALUE) + "\", " +
-                "\"admin_secret\":\"" + adminSecret + "\", " +
-                "\"request\":{" +
-                        "\"request\":\"create\"," +
-                        "\"description\":\"" + requestDto.getTitle() + "\"," +
-                        "\"pin\":\"" + pin + "\"," +
-                        "\"publishers\":" + publishers +
-                    "}" +
-                "}";
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        List<RoomDestroyResultDto> mediaServerResult = Collections.synchronizedList(new ArrayList<>());
+        for (Map.Entry<String, List<String>> entry : destroyable.entrySet()) {
+            String server = entry.getKey();
+            List<String> numbers = entry.getValue();
+            // 서버마다 destroyParallelism 개의 lane을 만들고 lane 안에서는 순서대로 요청
+            for (int lane = 0; lane < Math.min(destroyParallelism, numbers.size()); lane++) {
+                CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                for (int i = lane; i < numbers.size(); i += destroyParallelism) {
+                    String number = numbers.get(i);
+                    chain = chain.thenCompose(v -> janusClient
+                            .postAsync(server, JanusOperation.DESTROY, janusRequestFactory.destroyRoom(number))
+                            .handle((response, e) -> {
+                                boolean success = e == null && response.getStatusCode().is2xxSuccessful();
+                                if(success) participantCounterService.remove(server, number);
+                                mediaServerResult.add(new RoomDestroyResultDto(server, number,
+                                        success ? RoomDestroyStatus.DESTROYED : RoomDestroyStatus.MEDIA_SERVER_FAILURE));
+                                return null;
+                            }));
+                }
+                lanes.add(chain);
+            }
+        }
+        CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).join();
+        mediaServerResult.stream()
+                .filter(RoomDestroyResultDto::isDestroyed)
+                .collect(Collectors.groupingBy(RoomDestroyResultDto::getServer, Collectors.counting()))
+                .forEach((s, count) -> capacityLedger.release(s, publishers, count.intValue()));
+        result.addAll(mediaServerResult);
+        return result;
     }
 
-    private String generateJsonForRoomList() {
-        return "{" +
-                "\"janus\":\"message_plugin\", " +
-                "\"plugin\":\"janus.plugin.videoroom\", " +
-                "\"transaction\":\"" + (int) (Math.random() * Integer.MAX_VALUE) + "\", " +
-                "\"admin_secret\":\"" + adminSecret + "\", " +
-                "\"request\":{\"request\":\"list\"}" +
-                "}";
+    private <T> MediaServerResultDto<T> fanOut(JanusOperation operation, String json, Function<String, T> parser) {
+        // 모든 미디어 서버에 동시에 요청하고, 데드라인 안에 응답한 서버의 결과만 모아서 반환
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (String s : mediaServerRegistry.getServers()) { // drain 중인 서버도 포함
+            futures.put(s, janusClient.postAsync(s, operation, json).thenApply(r -> parser.apply(r.getBody())));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanOutDeadline);
+        Map<String, T> result = new HashMap<>();
+        Map<String, MediaServerStatus> status = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<T>> entry : futures.entrySet()) {
+            try {
+                long remain = Math.max(0, deadline - System.nanoTime());
+                result.put(entry.getKey(), entry.getValue().get(remain, TimeUnit.NANOSECONDS));
+                status.put(entry.getKey(), MediaServerStatus.OK);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                status.put(entry.getKey(), MediaServerStatus.TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status.put(entry.getKey(), MediaServerStatus.FAILURE);
+            } catch (ExecutionException e) {
+                if(e.getCause() instanceof MediaServerUnavailableException) {
+                    status.put(entry.getKey(), MediaServerStatus.UNAVAILABLE);
+                } else {
+                    log.warn("janus " + operation.getTag() + " failure - " + entry.getKey(), e.getCause());
+                    status.put(entry.getKey(), MediaServerStatus.FAILURE);
+                }
+            } catch (Exception e) {
+                log.warn("janus " + operation.getTag() + " failure - " + entry.getKey(), e);
+                status.put(entry.getKey(), MediaServerStatus.FAILURE);
+            }
+        }
+        status.forEach((s, st) -> meterRegistry.counter("room.fanout.results",
+                "operation", operation.getTag(), "server", s, "status", st.name()).increment());
+        return new MediaServerResultDto<>(result, status);
     }
 
-    private String generateJsonForDestructionRoom(String room) {
-        return "{" +
-                "\"janus\":\"message_plugin\", " +
-                "\"plugin\":\"janus.plugin.videoroom\", " +
-                "\"transaction\":\"" + (int) (Math.random() * Integer.MAX_VALUE) + "\", " +
-                "\"admin_secret\":\"" + adminSecret + "\", " +
-                "\"request\":{\"request\":\"destroy\", \"room\":" + room + ", \"secret\":\"" + roomSecret + "\"}" +
-                "}";
+    private <T> T recordDependency(String operation, String dependency, Supplier<T> task) {
+        // 미디어 서버 요청은 JanusClient에서 측정하고, 방 생성/파괴가 느려질 때 DB와 S3 중 어디가 원인인지 구분
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = task.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("room.dependency.requests",
+                    "operation", operation, "dependency", dependency, "outcome", outcome));
+        }
     }
 
-    private String generateJsonForReadingAllSessions() {
-        return "{" +
-                "\"janus\":\"list_sessions\", " +
-                "\"transaction\":\"" + (int) (Math.random() * Integer.MAX_VALUE) + "\", " +
-                "\"admin_secret\":\"" + adminSecret + "\"" +
-                "}";
+    private String generateRoomNumber() {
+        // janus가 생성하는 방 번호와 같은 범위(2^53 미만)에서 직접 정해서 예약
+        return String.valueOf(ThreadLocalRandom.current().nextLong(1, 1L << 53));
     }
 
     private String generateRoomPin() {
@@ -173,9 +351,11 @@ public class RoomService {
     }
 
     private String getServer() {
-        // scale-out을 위해 각 미디어 서버별 사용량 체크 후 여유 있는 서버를 방에 부여
-        // 일단 미디어 서버는 하나
-        return server.get(0);
+        // 목록 조회 때마다 갱신되는 미디어 서버별 부하를 기준으로 여유 있는 서버를 방에 부여
+        // 용량이 남은 서버가 없으면 방을 생성하지 않음
+        List<String> available = capacityLedger.filterAvailable(mediaServerRegistry.getPlaceableServers(), publishers);
+        if(available.isEmpty()) throw new MediaServerSaturatedException();
+        return placementEngine.select(available);
     }
 
 
@@ -0,0 +1,86 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.model.dto.room.CapacityResolution;
+import com.kuke.videomeeting.model.dto.room.CapacitySampleDto;
+import com.kuke.videomeeting.model.dto.room.JanusRoom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class CapacityHistory {
+    private static final String KEY_PREFIX = "janus:capacity-history:"; // 해상도별 hash, 서버 주소 -> 직렬화한 버퍼
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<CapacityResolution, Integer> sizes = new EnumMap<>(CapacityResolution.class);
+    private final Map<CapacityResolution, Map<String, CapacityRingBuffer>> buffers = new EnumMap<>(CapacityResolution.class);
+
+    public CapacityHistory(
+            StringRedisTemplate redisTemplate,
+            @Value("${janus.capacity.minute-buckets:1440}") int minuteBuckets,
+            @Value("${janus.capacity.hour-buckets:720}") int hourBuckets) {
+        this.redisTemplate = redisTemplate;
+        sizes.put(CapacityResolution.MINUTE, minuteBuckets); // 기본 하루
+        sizes.put(CapacityResolution.HOUR, hourBuckets); // 기본 30일
+        for (CapacityResolution r : CapacityResolution.values()) buffers.put(r, new ConcurrentHashMap<>());
+    }
+
+    public void recordRooms(String server, List<? extends JanusRoom> rooms) {
+        long now = System.currentTimeMillis();
+        record(server, CapacityMetric.ROOMS, rooms.size(), now);
+        record(server, CapacityMetric.PARTICIPANTS, rooms.stream().mapToInt(JanusRoom::getNum_participants).sum(), now);
+    }
+
+    public void recordSessions(String server, List<String> sessions) {
+        record(server, CapacityMetric.SESSIONS, sessions.size(), System.currentTimeMillis());
+    }
+
+    public void record(String server, CapacityMetric metric, int value, long time) {
+        // 분 단위와 시간 단위 버킷에 함께 집계해서 오래된 기간은 시간 단위로만 남음
+        for (CapacityResolution r : CapacityResolution.values()) buffer(r, server).record(metric, value, time);
+    }
+
+    public Map<String, List<CapacitySampleDto>> read(CapacityResolution resolution, int limit) {
+        long from = System.currentTimeMillis() - resolution.getMillis() * (limit - 1);
+        Map<String, List<CapacitySampleDto>> result = new TreeMap<>();
+        buffers.get(resolution).forEach((s, b) -> result.put(s, b.read(from)));
+        return result;
+    }
+
+    public void persist() {
+        for (CapacityResolution r : CapacityResolution.values()) {
+            Map<String, String> values = new HashMap<>();
+            buffers.get(r).forEach((s, b) -> values.put(s, Base64.getEncoder().encodeToString(b.toBytes())));
+            if(values.isEmpty()) continue;
+            String key = KEY_PREFIX + r.name().toLowerCase();
+            redisTemplate.opsForHash().putAll(key, values);
+            // 제거된 서버의 기록이 남지 않도록 보관 기간이 지나면 만료
+            redisTemplate.expire(key, Duration.ofMillis(r.getMillis() * sizes.get(r)));
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        // 재시작해도 이전 기록을 이어서 사용, 실패하면 빈 기록으로 시작
+        try {
+            for (CapacityResolution r : CapacityResolution.values()) {
+                for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(KEY_PREFIX + r.name().toLowerCase()).entrySet()) {
+                    buffer(r, entry.getKey().toString()).load(Base64.getDecoder().decode(entry.getValue().toString()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("capacity history restore failure - " + e.getMessage());
+        }
+    }
+
+    private CapacityRingBuffer buffer(CapacityResolution resolution, String server) {
+        return buffers.get(resolution).computeIfAbsent(server, s -> new CapacityRingBuffer(resolution.getMillis(), sizes.get(resolution)));
+    }
+}
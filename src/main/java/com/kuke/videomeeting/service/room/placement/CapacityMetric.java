@@ -0,0 +1,5 @@
+package com.kuke.videomeeting.service.room.placement;
+
+public enum CapacityMetric {
+    ROOMS, PARTICIPANTS, SESSIONS
+}
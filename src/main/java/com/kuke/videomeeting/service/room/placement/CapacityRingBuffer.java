@@ -0,0 +1,126 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.model.dto.room.CapacitySampleDto;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CapacityRingBuffer {
+    private static final int METRICS = CapacityMetric.values().length;
+    private static final int ENTRY_BYTES = Long.BYTES + METRICS * (Integer.BYTES * 2 + Long.BYTES);
+
+    // 샘플마다 객체를 만들지 않도록 버킷별 집계값만 지표별 primitive 배열에 저장
+    private final long resolution;
+    private final long[] buckets; // 버킷 번호(시각 / resolution), 비어있으면 -1
+    private final int[][] counts;
+    private final int[][] max;
+    private final long[][] sum;
+    private long latest = -1;
+
+    public CapacityRingBuffer(long resolution, int size) {
+        this.resolution = resolution;
+        this.buckets = new long[size];
+        this.counts = new int[METRICS][size];
+        this.max = new int[METRICS][size];
+        this.sum = new long[METRICS][size];
+        Arrays.fill(buckets, -1L);
+    }
+
+    public synchronized void record(CapacityMetric metric, int value, long time) {
+        long bucket = time / resolution;
+        int i = index(bucket);
+        if(buckets[i] != bucket) {
+            if(buckets[i] > bucket) return; // 이미 한 바퀴 지난 오래된 샘플
+            reset(i, bucket); // 한 바퀴 돌아온 자리는 비우고 재사용
+        }
+        int m = metric.ordinal();
+        counts[m][i]++;
+        max[m][i] = Math.max(max[m][i], value);
+        sum[m][i] += value;
+    }
+
+    public synchronized List<CapacitySampleDto> read(long from) {
+        // 오래된 버킷부터 시각 순으로 반환
+        List<CapacitySampleDto> result = new ArrayList<>();
+        if(latest < 0) return result;
+        long start = Math.max(latest - buckets.length + 1, Math.max(from / resolution, 0L));
+        for (long bucket = start; bucket <= latest; bucket++) {
+            int i = index(bucket);
+            if(buckets[i] != bucket) continue;
+            result.add(new CapacitySampleDto(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket * resolution), ZoneId.systemDefault()),
+                    average(CapacityMetric.ROOMS, i), maximum(CapacityMetric.ROOMS, i),
+                    average(CapacityMetric.PARTICIPANTS, i), maximum(CapacityMetric.PARTICIPANTS, i),
+                    average(CapacityMetric.SESSIONS, i), maximum(CapacityMetric.SESSIONS, i)));
+        }
+        return result;
+    }
+
+    public synchronized byte[] toBytes() {
+        // 비어있지 않은 버킷만 기록, [resolution, size, 개수, (버킷 번호, 지표별 count, max, sum)...]
+        int used = (int) Arrays.stream(buckets).filter(b -> b >= 0).count();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES * 2 + used * ENTRY_BYTES);
+        buffer.putLong(resolution).putInt(buckets.length).putInt(used);
+        for (int i = 0; i < buckets.length; i++) {
+            if(buckets[i] < 0) continue;
+            buffer.putLong(buckets[i]);
+            for (int m = 0; m < METRICS; m++) buffer.putInt(counts[m][i]).putInt(max[m][i]).putLong(sum[m][i]);
+        }
+        return buffer.array();
+    }
+
+    public synchronized boolean load(byte[] bytes) {
+        // 설정이 바뀌어 버킷 크기나 개수가 다르면 복원하지 않음
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if(buffer.getLong() != resolution || buffer.getInt() != buckets.length) return false;
+            int used = buffer.getInt();
+            for (int n = 0; n < used; n++) {
+                long bucket = buffer.getLong();
+                int i = index(bucket);
+                boolean newer = bucket > buckets[i];
+                if(newer) reset(i, bucket);
+                for (int m = 0; m < METRICS; m++) {
+                    int count = buffer.getInt(), maxValue = buffer.getInt();
+                    long sumValue = buffer.getLong();
+                    if(!newer) continue; // 재시작 이후 이미 수집한 버킷은 유지
+                    counts[m][i] = count;
+                    max[m][i] = maxValue;
+                    sum[m][i] = sumValue;
+                }
+            }
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    private void reset(int i, long bucket) {
+        buckets[i] = bucket;
+        latest = Math.max(latest, bucket);
+        for (int m = 0; m < METRICS; m++) {
+            counts[m][i] = 0;
+            max[m][i] = 0;
+            sum[m][i] = 0L;
+        }
+    }
+
+    private int index(long bucket) {
+        return (int) (bucket % buckets.length);
+    }
+
+    private Double average(CapacityMetric metric, int i) {
+        int count = counts[metric.ordinal()][i];
+        return count == 0 ? null : (double) sum[metric.ordinal()][i] / count;
+    }
+
+    private Integer maximum(CapacityMetric metric, int i) {
+        return counts[metric.ordinal()][i] == 0 ? null : max[metric.ordinal()][i];
+    }
+}
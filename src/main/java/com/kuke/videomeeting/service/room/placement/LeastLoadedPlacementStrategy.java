@@ -0,0 +1,20 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class LeastLoadedPlacementStrategy implements PlacementStrategy {
+
+    @Override
+    public String getName() {
+        return "least-loaded";
+    }
+
+    @Override
+    public MediaServerLoad select(List<MediaServerLoad> candidates) {
+        return candidates.stream().min(Comparator.comparingDouble(MediaServerLoad::getScore)).orElseThrow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.model.dto.room.JanusRoom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class MediaServerCapacityLedger {
+    // 남은 용량을 확인하고 예약하는 과정을 원자적으로 처리, 0은 제한 없음
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local publishers = tonumber(redis.call('hget', KEYS[1], 'publishers') or '0') " +
+            "local bitrate = tonumber(redis.call('hget', KEYS[1], 'bitrate') or '0') " +
+            "if tonumber(ARGV[3]) > 0 and publishers + tonumber(ARGV[1]) > tonumber(ARGV[3]) then return 0 end " +
+            "if tonumber(ARGV[4]) > 0 and bitrate + tonumber(ARGV[2]) > tonumber(ARGV[4]) then return 0 end " +
+            "redis.call('hincrby', KEYS[1], 'publishers', ARGV[1]) " +
+            "redis.call('hincrby', KEYS[1], 'bitrate', ARGV[2]) " +
+            "return 1",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local publishers = tonumber(redis.call('hget', KEYS[1], 'publishers') or '0') - tonumber(ARGV[1]) " +
+            "local bitrate = tonumber(redis.call('hget', KEYS[1], 'bitrate') or '0') - tonumber(ARGV[2]) " +
+            "redis.call('hset', KEYS[1], 'publishers', math.max(publishers, 0), 'bitrate', math.max(bitrate, 0)) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MediaServerRegistry mediaServerRegistry; // 서버별 용량, 실행 중에 등록한 서버도 포함
+    private final long roomBitrate;
+
+    public MediaServerCapacityLedger(
+            StringRedisTemplate redisTemplate,
+            MediaServerRegistry mediaServerRegistry,
+            @Value("${janus.room.bitrate:0}") long roomBitrate) {
+        this.redisTemplate = redisTemplate;
+        this.mediaServerRegistry = mediaServerRegistry;
+        this.roomBitrate = roomBitrate;
+    }
+
+    public boolean tryReserve(String server, int publishers) {
+        try {
+            Long result = redisTemplate.execute(RESERVE_SCRIPT, List.of(generateKey(server)),
+                    String.valueOf(publishers), String.valueOf(publishers * roomBitrate),
+                    String.valueOf(mediaServerRegistry.getMaxPublishers(server)), String.valueOf(mediaServerRegistry.getMaxBitrate(server)));
+            return result != null && result == 1L;
+        } catch (Exception e) {
+            // 용량 계산을 못하는 동안 방 생성을 막지 않음
+            log.warn("capacity reserve failure - " + server + " " + e.getMessage());
+            return true;
+        }
+    }
+
+    public void release(String server, int publishers, int rooms) {
+        if(rooms <= 0) return;
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(generateKey(server)),
+                    String.valueOf((long) publishers * rooms), String.valueOf(publishers * roomBitrate * rooms));
+        } catch (Exception e) {
+            log.warn("capacity release failure - " + server + " " + e.getMessage());
+        }
+    }
+
+    public void resync(String server, List<? extends JanusRoom> rooms) {
+        // 미디어 서버 목록 기준으로 다시 계산, 목록 조회 중에 생성된 방은 다음 조회까지 적게 계산될 수 있음
+        long publishers = 0;
+        for (JanusRoom room : rooms) publishers += parseLong(room.getMax_publishers());
+        try {
+            redisTemplate.opsForHash().putAll(generateKey(server), Map.of(
+                    "publishers", String.valueOf(publishers),
+                    "bitrate", String.valueOf(publishers * roomBitrate)));
+        } catch (Exception e) {
+            log.warn("capacity resync failure - " + server + " " + e.getMessage());
+        }
+    }
+
+    public List<String> filterAvailable(List<String> servers, int publishers) {
+        // 새 방 하나를 더 받을 수 있는 서버
+        return servers.stream().filter(s -> hasCapacity(s, publishers)).collect(Collectors.toList());
+    }
+
+    public boolean hasCapacity(String server, int publishers) {
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(generateKey(server), List.of("publishers", "bitrate"));
+            long usedPublishers = parseLong((String) values.get(0)), usedBitrate = parseLong((String) values.get(1));
+            long maxP = mediaServerRegistry.getMaxPublishers(server), maxB = mediaServerRegistry.getMaxBitrate(server);
+            return (maxP <= 0 || usedPublishers + publishers <= maxP)
+                    && (maxB <= 0 || usedBitrate + publishers * roomBitrate <= maxB);
+        } catch (Exception e) {
+            log.warn("capacity read failure - " + server + " " + e.getMessage());
+            return true;
+        }
+    }
+
+    private long parseLong(String value) {
+        try {
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String generateKey(String server) {
+        return "janus:capacity:" + server;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MediaServerLoad {
+    private final String server;
+    private final int rooms;
+    private final int participants;
+    private final int publishers; // 방들의 max_publishers 합계
+    private final long updatedAt;
+    private final double publisherWeight;
+
+    public static MediaServerLoad empty(String server, double publisherWeight) {
+        return new MediaServerLoad(server, 0, 0, 0, 0L, publisherWeight);
+    }
+
+    public MediaServerLoad addRoom(int maxPublishers) {
+        return new MediaServerLoad(server, rooms + 1, participants, publishers + maxPublishers, updatedAt, publisherWeight);
+    }
+
+    public double getScore() {
+        // 참여자 수가 실제 부하, 빈 방도 자원을 차지하므로 방 개수도 반영
+        // publisher 자리는 방마다 예약된 최대 송출 수이므로 가중치를 곱해서 참여자 단위로 맞춤
+        return participants + rooms + publishers * publisherWeight;
+    }
+
+    public double getRoomScore(int maxPublishers) {
+        // 참여자가 없는 방 하나가 점수에 더하는 값
+        return 1 + maxPublishers * publisherWeight;
+    }
+}
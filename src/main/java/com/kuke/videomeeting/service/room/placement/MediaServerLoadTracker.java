@@ -0,0 +1,68 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.model.dto.room.JanusRoom;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class MediaServerLoadTracker {
+    private final Map<String, MediaServerLoad> loads = new ConcurrentHashMap<>();
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final double publisherWeight;
+
+    public MediaServerLoadTracker(
+            MeterRegistry meterRegistry,
+            @Value("${janus.placement.publisher-weight:0.01}") double publisherWeight) { // 기본값은 publisher 100자리를 참여자 1명으로 계산
+        this.meterRegistry = meterRegistry;
+        this.publisherWeight = publisherWeight;
+    }
+
+    public void update(String server, List<? extends JanusRoom> rooms) {
+        int participants = 0, publishers = 0;
+        for (JanusRoom room : rooms) {
+            participants += room.getNum_participants();
+            publishers += parseInt(room.getMax_publishers());
+        }
+        loads.put(server, new MediaServerLoad(server, rooms.size(), participants, publishers, System.currentTimeMillis(), publisherWeight));
+        if(registered.add(server)) registerGauges(server);
+    }
+
+    public void reserve(String server, int maxPublishers) {
+        // 다음 목록 조회 전까지 연속으로 생성되는 방이 한 서버에 몰리지 않도록 미리 반영
+        loads.compute(server, (k, v) -> (v == null ? MediaServerLoad.empty(server, publisherWeight) : v).addRoom(maxPublishers));
+    }
+
+    public MediaServerLoad getLoad(String server) {
+        return loads.getOrDefault(server, MediaServerLoad.empty(server, publisherWeight));
+    }
+
+    private void registerGauges(String server) {
+        // 마지막 목록 조회 결과 기준, 생성 직후 미리 반영한 방도 포함
+        registerGauge("janus.server.rooms", server, MediaServerLoad::getRooms);
+        registerGauge("janus.server.participants", server, MediaServerLoad::getParticipants);
+        registerGauge("janus.server.publishers", server, MediaServerLoad::getPublishers);
+    }
+
+    private void registerGauge(String name, String server, ToDoubleFunction<MediaServerLoad> f) {
+        Gauge.builder(name, loads, l -> f.applyAsDouble(l.getOrDefault(server, MediaServerLoad.empty(server, publisherWeight))))
+                .tag("server", server)
+                .register(meterRegistry);
+    }
+
+    private int parseInt(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.advice.exception.MediaServerNotDrainedException;
+import com.kuke.videomeeting.advice.exception.MediaServerNotFoundException;
+import com.kuke.videomeeting.model.dto.room.MediaServerDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class MediaServerRegistry {
+    private static final String KEY = "janus:servers"; // 서버 주소 -> 상태
+    private static final String HEARTBEAT_KEY = "janus:servers:heartbeat"; // 서버 주소 -> 마지막 응답 시각
+    private static final String SEEDED_KEY = "janus:servers:seeded";
+    // 관리자 API로 등록할 때 지정한 서버별 용량, 가중치
+    private static final String MAX_PUBLISHERS_KEY = "janus:servers:max-publishers";
+    private static final String MAX_BITRATE_KEY = "janus:servers:max-bitrate";
+    private static final String WEIGHT_KEY = "janus:servers:weight";
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<String> initialServer;
+    private final long heartbeatTimeout;
+    private final Map<String, Long> configuredMaxPublishers = new HashMap<>();
+    private final Map<String, Long> configuredMaxBitrate = new HashMap<>();
+    private final Map<String, Double> configuredWeights = new HashMap<>();
+    private final long defaultMaxPublishers;
+    private final long defaultMaxBitrate;
+    private final double defaultWeight;
+    // 요청마다 redis를 조회하지 않도록 주기적으로 갱신한 목록을 사용
+    private volatile Map<String, MediaServerState> states;
+    private volatile Map<String, Long> heartbeats = Map.of();
+    private volatile Map<String, Long> maxPublishers = Map.of();
+    private volatile Map<String, Long> maxBitrate = Map.of();
+    private volatile Map<String, Double> weights = Map.of();
+
+    public MediaServerRegistry(
+            StringRedisTemplate redisTemplate,
+            @Value("${janus.server}") List<String> server,
+            @Value("${janus.registry.heartbeat-timeout-ms:30000}") long heartbeatTimeout,
+            @Value("${janus.capacity.max-publishers:}") List<Long> maxPublishers,
+            @Value("${janus.capacity.max-bitrate:}") List<Long> maxBitrate,
+            @Value("${janus.placement.weight:}") List<Double> weight,
+            @Value("${janus.capacity.default-max-publishers:0}") long defaultMaxPublishers,
+            @Value("${janus.capacity.default-max-bitrate:0}") long defaultMaxBitrate,
+            @Value("${janus.placement.default-weight:1}") double defaultWeight) {
+        this.redisTemplate = redisTemplate;
+        this.initialServer = List.copyOf(server);
+        this.heartbeatTimeout = heartbeatTimeout;
+        this.defaultMaxPublishers = defaultMaxPublishers;
+        this.defaultMaxBitrate = defaultMaxBitrate;
+        this.defaultWeight = defaultWeight > 0 ? defaultWeight : 1.0;
+        // janus.server 순서대로 서버별 용량, 가중치 지정
+        for (int i = 0; i < server.size(); i++) {
+            if(i < maxPublishers.size()) configuredMaxPublishers.put(server.get(i), maxPublishers.get(i));
+            if(i < maxBitrate.size()) configuredMaxBitrate.put(server.get(i), maxBitrate.get(i));
+            if(i < weight.size() && weight.get(i) > 0) configuredWeights.put(server.get(i), weight.get(i));
+        }
+        // redis에서 읽어오기 전까지는 설정 파일의 서버 목록 사용
+        this.states = server.stream()
+                .collect(Collectors.toUnmodifiableMap(s -> s, s -> MediaServerState.ACTIVE, (a, b) -> a));
+    }
+
+    public List<String> getServers() {
+        // 목록 조회, 파괴 등 기존 방을 다루는 작업은 drain 중인 서버도 포함
+        return new ArrayList<>(new TreeSet<>(states.keySet()));
+    }
+
+    public List<String> getPlaceableServers() {
+        // drain 중이거나 heartbeat가 끊긴 서버에는 새 방을 배정하지 않음
+        // heartbeat 기록 자체가 안 되고 있으면(redis 장애 등) 상태만 보고 배정
+        List<String> active = getServers().stream()
+                .filter(s -> states.get(s) == MediaServerState.ACTIVE)
+                .collect(Collectors.toList());
+        long now = System.currentTimeMillis();
+        List<String> alive = active.stream().filter(s -> isAlive(s, now)).collect(Collectors.toList());
+        return alive.isEmpty() ? active : alive;
+    }
+
+    public boolean contains(String server) {
+        return states.containsKey(server);
+    }
+
+    public boolean isDraining(String server) {
+        return states.get(server) == MediaServerState.DRAINING;
+    }
+
+    // 등록할 때 지정한 값, janus.server 순서대로 설정한 값, 기본값 순으로 사용
+    public long getMaxPublishers(String server) {
+        return maxPublishers.getOrDefault(server, configuredMaxPublishers.getOrDefault(server, defaultMaxPublishers));
+    }
+
+    public long getMaxBitrate(String server) {
+        return maxBitrate.getOrDefault(server, configuredMaxBitrate.getOrDefault(server, defaultMaxBitrate));
+    }
+
+    public double getWeight(String server) {
+        return weights.getOrDefault(server, configuredWeights.getOrDefault(server, defaultWeight));
+    }
+
+    public List<MediaServerDto> readAll() {
+        long now = System.currentTimeMillis();
+        return getServers().stream()
+                .map(s -> new MediaServerDto(s, states.get(s), heartbeats.get(s), isAlive(s, now),
+                        getMaxPublishers(s), getMaxBitrate(s), getWeight(s)))
+                .collect(Collectors.toList());
+    }
+
+    public void register(String server, Long maxPublishers, Long maxBitrate, Double weight) {
+        // 지정하지 않은 값은 지워서 이전 등록 값 대신 설정 파일의 값을 사용
+        putOrDelete(MAX_PUBLISHERS_KEY, server, maxPublishers);
+        putOrDelete(MAX_BITRATE_KEY, server, maxBitrate);
+        putOrDelete(WEIGHT_KEY, server, weight);
+        redisTemplate.opsForHash().put(KEY, server, MediaServerState.ACTIVE.name());
+        refresh();
+    }
+
+    public void drain(String server) {
+        changeState(server, MediaServerState.DRAINING);
+    }
+
+    public void activate(String server) {
+        changeState(server, MediaServerState.ACTIVE);
+    }
+
+    public void deregister(String server) {
+        // 남아있는 방이 파괴되지 않도록 drain으로 새 방 배정을 먼저 멈춘 서버만 제거
+        if(readState(server) != MediaServerState.DRAINING) throw new MediaServerNotDrainedException();
+        redisTemplate.opsForHash().delete(KEY, server);
+        redisTemplate.opsForHash().delete(HEARTBEAT_KEY, server);
+        for (String key : List.of(MAX_PUBLISHERS_KEY, MAX_BITRATE_KEY, WEIGHT_KEY)) redisTemplate.opsForHash().delete(key, server);
+        refresh();
+    }
+
+    public void heartbeat(String server) {
+        redisTemplate.opsForHash().put(HEARTBEAT_KEY, server, String.valueOf(System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${janus.registry.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            seedIfNeeded();
+            Map<String, MediaServerState> nextStates = new HashMap<>();
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(KEY).entrySet()) {
+                nextStates.put(entry.getKey().toString(), MediaServerState.valueOf(entry.getValue().toString()));
+            }
+            Map<String, Long> nextHeartbeats = new HashMap<>();
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(HEARTBEAT_KEY).entrySet()) {
+                nextHeartbeats.put(entry.getKey().toString(), Long.parseLong(entry.getValue().toString()));
+            }
+            Map<String, Long> nextMaxPublishers = readAll(MAX_PUBLISHERS_KEY, Long::parseLong);
+            Map<String, Long> nextMaxBitrate = readAll(MAX_BITRATE_KEY, Long::parseLong);
+            Map<String, Double> nextWeights = readAll(WEIGHT_KEY, Double::parseDouble);
+            states = Map.copyOf(nextStates);
+            heartbeats = Map.copyOf(nextHeartbeats);
+            maxPublishers = nextMaxPublishers;
+            maxBitrate = nextMaxBitrate;
+            weights = nextWeights;
+        } catch (Exception e) {
+            // 갱신에 실패하면 이전 목록을 계속 사용
+            log.warn("media server registry refresh failure - " + e.getMessage());
+        }
+    }
+
+    private void seedIfNeeded() {
+        // 처음 한 번만 설정 파일의 서버 목록을 등록하고, 이후에는 관리자 API로만 변경
+        if(!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(SEEDED_KEY, String.valueOf(System.currentTimeMillis())))) return;
+        for (String s : initialServer) redisTemplate.opsForHash().putIfAbsent(KEY, s, MediaServerState.ACTIVE.name());
+    }
+
+    private <T> Map<String, T> readAll(String key, Function<String, T> parser) {
+        Map<String, T> result = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(key).entrySet()) {
+            result.put(entry.getKey().toString(), parser.apply(entry.getValue().toString()));
+        }
+        return Map.copyOf(result);
+    }
+
+    private void putOrDelete(String key, String server, Object value) {
+        if(value == null) redisTemplate.opsForHash().delete(key, server);
+        else redisTemplate.opsForHash().put(key, server, value.toString());
+    }
+
+    private void changeState(String server, MediaServerState state) {
+        readState(server);
+        redisTemplate.opsForHash().put(KEY, server, state.name());
+        refresh();
+    }
+
+    private MediaServerState readState(String server) {
+        Object state = redisTemplate.opsForHash().get(KEY, server);
+        if(state == null) throw new MediaServerNotFoundException();
+        return MediaServerState.valueOf(state.toString());
+    }
+
+    private boolean isAlive(String server, long now) {
+        Long heartbeat = heartbeats.get(server);
+        return heartbeat != null && now - heartbeat <= heartbeatTimeout;
+    }
+}
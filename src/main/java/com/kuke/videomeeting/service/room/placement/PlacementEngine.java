@@ -0,0 +1,46 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.client.janus.MediaServerHealthRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class PlacementEngine {
+    private final MediaServerLoadTracker loadTracker;
+    private final MediaServerHealthRegistry healthRegistry;
+    private final PlacementStrategy strategy;
+
+    public PlacementEngine(
+            MediaServerLoadTracker loadTracker,
+            MediaServerHealthRegistry healthRegistry,
+            List<PlacementStrategy> strategies,
+            @Value("${janus.placement.strategy:least-loaded}") String strategyName) {
+        Map<String, PlacementStrategy> strategyMap = strategies.stream()
+                .collect(Collectors.toMap(PlacementStrategy::getName, Function.identity()));
+        this.loadTracker = loadTracker;
+        this.healthRegistry = healthRegistry;
+        this.strategy = strategyMap.get(strategyName);
+        if(this.strategy == null) {
+            throw new IllegalArgumentException("unknown placement strategy - " + strategyName);
+        }
+        log.info("janus placement strategy - " + strategyName);
+    }
+
+    public String select(List<String> servers) {
+        // circuit이 열린 서버는 제외, 모두 열려있으면 그 중에서라도 선택
+        List<String> available = healthRegistry.filterAvailable(servers);
+        if(!available.isEmpty()) servers = available;
+        if(servers.size() == 1) return servers.get(0);
+        List<MediaServerLoad> candidates = servers.stream()
+                .map(loadTracker::getLoad)
+                .collect(Collectors.toList());
+        return strategy.select(candidates).getServer();
+    }
+}
@@ -0,0 +1,10 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import java.util.List;
+
+public interface PlacementStrategy {
+
+    String getName();
+
+    MediaServerLoad select(List<MediaServerLoad> candidates);
+}
@@ -0,0 +1,28 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class PowerOfTwoChoicesPlacementStrategy implements PlacementStrategy {
+
+    @Override
+    public String getName() {
+        return "power-of-two";
+    }
+
+    @Override
+    public MediaServerLoad select(List<MediaServerLoad> candidates) {
+        // 임의의 두 서버 중 부하가 적은 쪽 선택. 오래된 부하 정보로 한 서버에 몰리는 현상을 줄임
+        int size = candidates.size();
+        if(size == 1) return candidates.get(0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if(second >= first) second++;
+        MediaServerLoad a = candidates.get(first), b = candidates.get(second);
+        return a.getScore() <= b.getScore() ? a : b;
+    }
+}
@@ -0,0 +1,27 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class WeightedPlacementStrategy implements PlacementStrategy {
+    private final MediaServerRegistry mediaServerRegistry; // 서버별 가중치, 실행 중에 등록한 서버도 포함
+
+    public WeightedPlacementStrategy(MediaServerRegistry mediaServerRegistry) {
+        this.mediaServerRegistry = mediaServerRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return "weighted";
+    }
+
+    @Override
+    public MediaServerLoad select(List<MediaServerLoad> candidates) {
+        return candidates.stream()
+                .min(Comparator.comparingDouble(l -> l.getScore() / mediaServerRegistry.getWeight(l.getServer())))
+                .orElseThrow();
+    }
+}
@@ -5,6 +5,7 @@ import com.kuke.videomeeting.advice.exception.PasswordNotMatchException;
 import com.kuke.videomeeting.advice.exception.UserNicknameAlreadyExistsException;
 import com.kuke.videomeeting.advice.exception.UserNotFoundException;
 import com.kuke.videomeeting.cache.CacheHandler;
+import com.kuke.videomeeting.cache.MessageHeadCache;
 import com.kuke.videomeeting.config.cache.CacheKey;
 import com.kuke.videomeeting.domain.DeleteStatus;
 import com.kuke.videomeeting.domain.Friend;
@@ -35,7 +36,9 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final CacheHandler cacheHandler;
+    private final MessageHeadCache messageHeadCache;
     private final UserRepository userRepository;
+    private final MessageRepository messageRepository;
 
     @Caching(evict = {
             @CacheEvict(value = CacheKey.USER, key="#userId"),
@@ -48,7 +51,14 @@ public class UserService {
     @Transactional
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        // 탈퇴한 사용자와 주고받은 메시지가 함께 삭제되므로 그 메시지가 있던 상대방의 head만 비움
+        List<Long> receiverIds = messageRepository.findReceiverIdsBySenderId(userId);
+        List<Long> senderIds = messageRepository.findSenderIdsByReceiverId(userId);
         userRepository.delete(user);
+        receiverIds.forEach(messageHeadCache::evictReceived);
+        senderIds.forEach(messageHeadCache::evictSent);
+        messageHeadCache.evictSent(userId);
+        messageHeadCache.evictReceived(userId);
     }
 
     @Cacheable(value = CacheKey.USER, key = "#userId", unless = "#result == null")
@@ -0,0 +1,18 @@
+-- 메시지 스크롤 조회(message_id < ? order by message_id desc)용 인덱스
+-- prod는 ddl-auto: update로 이미 생성되어 있으므로 없을 때만 생성
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_message_sender_scroll ON message (sender_id, sender_delete_status, message_id)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'message' AND index_name = 'idx_message_sender_scroll');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_message_receiver_scroll ON message (receiver_id, receiver_delete_status, message_id)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'message' AND index_name = 'idx_message_receiver_scroll');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
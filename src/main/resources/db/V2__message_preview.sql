@@ -0,0 +1,11 @@
+-- 메시지 목록 조회용 미리보기 컬럼 (Message.PREVIEW_LENGTH)
+-- prod는 ddl-auto: update로 컬럼이 이미 추가되어 있으므로 없을 때만 추가하고, 기존 메시지의 값은 항상 채움
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE message ADD COLUMN preview VARCHAR(100)',
+        'SELECT 1')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'message' AND column_name = 'preview');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+UPDATE message SET preview = LEFT(msg, 100) WHERE preview IS NULL;
@@ -0,0 +1,11 @@
+-- 방 생성 예약/확정(Room.status) 컬럼
+-- 컬럼이 없으면 기본값 ACTIVE로 추가하고, 기본값 없이 추가되어 ''로 채워진 기존 방은 ACTIVE로 보정
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE room ADD COLUMN status VARCHAR(255) NOT NULL DEFAULT ''ACTIVE''',
+        'ALTER TABLE room ALTER COLUMN status SET DEFAULT ''ACTIVE''')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'room' AND column_name = 'status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+UPDATE room SET status = 'ACTIVE' WHERE status IS NULL OR status = '';
@@ -0,0 +1,11 @@
+-- 방 생성 예약(RoomOutbox) 테이블, 미디어 서버에 생성 요청했지만 아직 확정되지 않은 방
+-- prod는 ddl-auto: update로 이미 생성되어 있으므로 없을 때만 생성
+CREATE TABLE IF NOT EXISTS room_outbox (
+    room_outbox_id BIGINT NOT NULL AUTO_INCREMENT,
+    number VARCHAR(255) NOT NULL,
+    server VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    modified_at DATETIME(6),
+    PRIMARY KEY (room_outbox_id),
+    CONSTRAINT uk_room_outbox_number UNIQUE (number)
+);
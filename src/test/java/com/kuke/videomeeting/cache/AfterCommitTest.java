@@ -0,0 +1,45 @@
+package com.kuke.videomeeting.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitTest {
+
+    @AfterEach
+    public void afterEach() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    public void runImmediatelyOutsideTransactionTest() {
+        // given
+        AtomicInteger count = new AtomicInteger();
+
+        // when
+        AfterCommit.run(count::incrementAndGet);
+
+        // then
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void runOnlyAfterCommitTest() {
+        // given
+        AtomicInteger count = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        AfterCommit.run(count::incrementAndGet);
+
+        // then
+        assertThat(count.get()).isEqualTo(0);
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) s.afterCommit();
+        assertThat(count.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.kuke.videomeeting.cache;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageHeadCacheTest {
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock ValueOperations<String, String> valueOperations;
+    MessageHeadCache messageHeadCache;
+    AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeEach
+    public void beforeEach() {
+        messageHeadCache = new MessageHeadCache(redisTemplate, new MessageCacheGeneration(redisTemplate), new Gson(), 10, 600);
+    }
+
+    @Test
+    public void encodeTest() {
+        // given
+        SimpleMessageDto message = createMessage(1L);
+        message.setNickname(null);
+
+        // when
+        SimpleMessageDto result = messageHeadCache.decode(messageHeadCache.encode(message));
+
+        // then
+        assertThat(result).isEqualTo(message);
+    }
+
+    @Test
+    public void readHeadTest() {
+        // given
+        givenHead("0", 5L, 4L, 3L);
+
+        // when
+        Optional<Slice<SimpleMessageDto>> result = messageHeadCache.readSent(1L, 6L, 2, this::load);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).extracting(SimpleMessageDto::getId).containsExactly(5L, 4L);
+        assertThat(result.get().hasNext()).isTrue();
+        assertThat(loadCount.get()).isZero();
+    }
+
+    @Test
+    public void readCompleteHeadLastPageTest() {
+        // given
+        givenHead("1", 2L, 1L);
+
+        // when
+        Optional<Slice<SimpleMessageDto>> result = messageHeadCache.readSent(1L, 3L, 2, this::load);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).extracting(SimpleMessageDto::getId).containsExactly(2L, 1L);
+        assertThat(result.get().hasNext()).isFalse();
+    }
+
+    @Test
+    public void readBeyondPartialHeadTest() {
+        // given
+        givenHead("0", 2L, 1L);
+
+        // when
+        Optional<Slice<SimpleMessageDto>> result = messageHeadCache.readSent(1L, 3L, 2, this::load);
+
+        // then
+        assertThat(result).isEmpty(); // head 뒤에 메시지가 더 있을 수 있으므로 DB 조회
+    }
+
+    @Test
+    public void loadHeadOnFirstPageTest() {
+        // given
+        given(redisTemplate.execute(any(), anyList(), any())).willReturn(null).willReturn(1L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+        // when
+        Optional<Slice<SimpleMessageDto>> result = messageHeadCache.readReceived(1L, Long.MAX_VALUE, 3, this::load);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).extracting(SimpleMessageDto::getId).containsExactly(20L, 19L, 18L);
+        assertThat(result.get().hasNext()).isTrue();
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void readDeepPageWithoutHeadTest() {
+        // given
+        given(redisTemplate.execute(any(), anyList(), any())).willReturn(null);
+
+        // when
+        Optional<Slice<SimpleMessageDto>> result = messageHeadCache.readReceived(1L, 5L, 3, this::load);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(loadCount.get()).isZero();
+    }
+
+    private void givenHead(String complete, Long... ids) {
+        List<String> result = new ArrayList<>(List.of(complete));
+        for (Long id : ids) result.add(messageHeadCache.encode(createMessage(id)));
+        given(redisTemplate.execute(any(), anyList(), any())).willReturn(result);
+    }
+
+    private List<SimpleMessageDto> load(int count) {
+        // 메시지 20개 중 최신 count개
+        loadCount.incrementAndGet();
+        return LongStream.iterate(20L, i -> i - 1).limit(count).mapToObj(this::createMessage).collect(Collectors.toList());
+    }
+
+    private SimpleMessageDto createMessage(Long id) {
+        return new SimpleMessageDto(id, "msg \"" + id + "\"", 2L, "nickname", LocalDateTime.of(2021, 2, 1, 0, 0, 0, 1000));
+    }
+}
@@ -0,0 +1,129 @@
+package com.kuke.videomeeting.cache;
+
+import com.kuke.videomeeting.config.cache.CacheKey;
+import com.kuke.videomeeting.model.dto.room.RoomSimpleDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomCacheTest {
+    private ConcurrentMapCacheManager cacheManager;
+    private StringRedisTemplate redisTemplate;
+    private RoomCache roomCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    public void beforeEach() {
+        cacheManager = new ConcurrentMapCacheManager(CacheKey.ROOM, CacheKey.ROOM_NOT_FOUND);
+        redisTemplate = mock(StringRedisTemplate.class);
+        roomCache = new RoomCache(cacheManager, redisTemplate, 5, 100);
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    public void loadOnceTest() {
+        // given
+        RoomSimpleDto room = createRoom("1234");
+
+        // when
+        roomCache.get("1234", n -> load(room));
+        Optional<RoomSimpleDto> result = roomCache.get("1234", n -> load(room));
+
+        // then
+        assertThat(result).contains(room);
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheKey.ROOM).get("1234")).isNotNull();
+    }
+
+    @Test
+    public void sharedRemoteCacheTest() {
+        // given
+        RoomSimpleDto room = createRoom("1234");
+        roomCache.get("1234", n -> load(room));
+        RoomCache other = new RoomCache(cacheManager, redisTemplate, 5, 100);
+
+        // when
+        Optional<RoomSimpleDto> result = other.get("1234", n -> load(room));
+
+        // then
+        assertThat(result).contains(room);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void negativeCacheTest() {
+        // when
+        roomCache.get("9999", n -> load(null));
+        Optional<RoomSimpleDto> result = new RoomCache(cacheManager, redisTemplate, 5, 100).get("9999", n -> load(null));
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheKey.ROOM_NOT_FOUND).get("9999")).isNotNull();
+    }
+
+    @Test
+    public void putOverwritesNegativeCacheTest() {
+        // given
+        RoomSimpleDto room = createRoom("1234");
+        roomCache.get("1234", n -> load(null));
+
+        // when
+        roomCache.put(room);
+
+        // then
+        assertThat(roomCache.get("1234", n -> load(null))).contains(room);
+        assertThat(cacheManager.getCache(CacheKey.ROOM_NOT_FOUND).get("1234")).isNull();
+    }
+
+    @Test
+    public void evictTest() {
+        // given
+        RoomSimpleDto room = createRoom("1234");
+        roomCache.put(room);
+
+        // when
+        roomCache.evict("1234");
+
+        // then
+        assertThat(roomCache.get("1234", n -> load(room))).isEmpty();
+        assertThat(new RoomCache(cacheManager, redisTemplate, 5, 100).get("1234", n -> load(room))).isEmpty();
+        assertThat(loadCount.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidateOtherInstanceLocalCacheTest() {
+        // given
+        RoomSimpleDto room = createRoom("1234");
+        RoomSimpleDto moved = new RoomSimpleDto(1L, "1234", "title", null, "other-server", null);
+        RoomCache other = new RoomCache(cacheManager, redisTemplate, 5, 100);
+        other.get("1234", n -> load(room));
+        doAnswer(i -> { // 구독 중인 다른 인스턴스에 알림 전달
+            other.invalidateLocal(i.getArgument(1));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(RoomCache.INVALIDATE_TOPIC), anyString());
+
+        // when
+        roomCache.put(moved);
+
+        // then
+        assertThat(other.get("1234", n -> load(room))).contains(moved);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    private Optional<RoomSimpleDto> load(RoomSimpleDto room) {
+        loadCount.incrementAndGet();
+        return Optional.ofNullable(room);
+    }
+
+    private RoomSimpleDto createRoom(String number) {
+        return new RoomSimpleDto(1L, number, "title", null, "server", null);
+    }
+}
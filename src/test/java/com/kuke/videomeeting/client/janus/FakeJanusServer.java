@@ -0,0 +1,205 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 janus admin API (videoroom create, edit, list, destroy, list_sessions)
+ * 응답 지연과 실패 비율을 지정할 수 있음
+ */
+public class FakeJanusServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, FakeRoom> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(1000);
+    private final AtomicLong requests = new AtomicLong();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet(); // 요청을 보낸 클라이언트 소켓 주소
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+
+    public FakeJanusServer() throws IOException {
+        this(32);
+    }
+
+    public FakeJanusServer(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/admin", this::handle);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FakeJanusServer withLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    public FakeJanusServer withFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public void seedRooms(int count, int participants) {
+        for (int i = 0; i < count; i++) {
+            String number = String.valueOf(sequence.incrementAndGet());
+            rooms.put(number, new FakeRoom(number, "room-" + number, participants));
+        }
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public boolean hasRoom(String number) {
+        return rooms.containsKey(number);
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        connections.add(exchange.getRemoteAddress());
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if(latencyMillis > 0) Thread.sleep(latencyMillis);
+            if(failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                respond(exchange, 500, "{\"janus\":\"error\"}");
+                return;
+            }
+            respond(exchange, 200, dispatch(JsonParser.parseString(body).getAsJsonObject()).toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 500, "{\"janus\":\"error\"}");
+        } catch (Exception e) {
+            respond(exchange, 400, "{\"janus\":\"error\"}");
+        }
+    }
+
+    private JsonObject dispatch(JsonObject request) {
+        JsonObject response = new JsonObject();
+        response.addProperty("janus", "success");
+        response.add("transaction", request.get("transaction"));
+        if("list_sessions".equals(request.get("janus").getAsString())) {
+            JsonArray sessions = new JsonArray();
+            rooms.values().forEach(r -> { for (int i = 0; i < r.participants; i++) sessions.add(sequence.incrementAndGet()); });
+            response.add("sessions", sessions);
+            return response;
+        }
+        JsonObject body = request.getAsJsonObject("request");
+        JsonObject data = new JsonObject();
+        switch (body.get("request").getAsString()) {
+            case "create": {
+                String number = body.has("room") ? body.get("room").getAsString() : String.valueOf(sequence.incrementAndGet());
+                if(rooms.putIfAbsent(number, new FakeRoom(number, body.get("description").getAsString(), 0)) != null) {
+                    return error(response, 427, "Room " + number + " already exists");
+                }
+                data.addProperty("videoroom", "created");
+                data.addProperty("room", Long.parseLong(number));
+                data.addProperty("permanent", false);
+                break;
+            }
+            case "edit": {
+                FakeRoom room = rooms.get(body.get("room").getAsString());
+                if(room == null) return error(response, 426, "No such room");
+                room.description = body.get("new_description").getAsString();
+                data.addProperty("videoroom", "edited");
+                data.addProperty("room", Long.parseLong(room.number));
+                break;
+            }
+            case "destroy": {
+                FakeRoom room = rooms.remove(body.get("room").getAsString());
+                if(room == null) return error(response, 426, "No such room");
+                data.addProperty("videoroom", "destroyed");
+                data.addProperty("room", Long.parseLong(room.number));
+                break;
+            }
+            case "list": {
+                JsonArray list = new JsonArray();
+                rooms.values().forEach(r -> list.add(r.toJson()));
+                data.addProperty("videoroom", "success");
+                data.add("list", list);
+                break;
+            }
+            default:
+                return error(response, 423, "Unknown request");
+        }
+        response.add("response", data);
+        return response;
+    }
+
+    private JsonObject error(JsonObject response, int code, String message) {
+        JsonObject data = new JsonObject();
+        data.addProperty("videoroom", "event");
+        data.addProperty("error_code", code);
+        data.addProperty("error", message);
+        response.add("response", data);
+        return response;
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class FakeRoom {
+        private final String number;
+        private volatile String description;
+        private final int participants;
+
+        FakeRoom(String number, String description, int participants) {
+            this.number = number;
+            this.description = description;
+            this.participants = participants;
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("room", Long.parseLong(number));
+            json.addProperty("description", description);
+            json.addProperty("pin_required", true);
+            json.addProperty("max_publishers", 100);
+            json.addProperty("bitrate", 0);
+            json.addProperty("fir_freq", 0);
+            json.addProperty("require_pvtid", false);
+            json.addProperty("notify_joining", false);
+            json.addProperty("audiocodec", "opus");
+            json.addProperty("videocodec", "vp8");
+            json.addProperty("record", false);
+            json.addProperty("num_participants", participants);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kuke.videomeeting.client.janus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HttpJanusTransportTest {
+    FakeJanusServer fakeJanusServer;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    HttpJanusTransport transport;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        fakeJanusServer = new FakeJanusServer(4);
+        // list는 300ms, 나머지 operation은 2000ms read timeout
+        transport = new HttpJanusTransport(meterRegistry,
+                2, 30, 1000, 500, 2000, 2000, 300, 2000, 2000);
+    }
+
+    @AfterEach
+    public void afterEach() throws IOException {
+        transport.destroy();
+        fakeJanusServer.close();
+    }
+
+    @Test
+    public void reusePooledConnectionTest() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            ResponseEntity<String> response = transport.exchange(fakeJanusServer.getUrl(), JanusOperation.LIST,
+                    createRequest("{\"request\":\"list\"}"));
+            assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        }
+
+        // then
+        assertThat(fakeJanusServer.getRequestCount()).isEqualTo(10);
+        assertThat(fakeJanusServer.getConnectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("janus.client.pool.available").tag("server", fakeJanusServer.getUrl())
+                .gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("janus.client.pool.max").tag("server", fakeJanusServer.getUrl())
+                .gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void readTimeoutPerOperationTest() {
+        // given
+        fakeJanusServer.withLatency(1000);
+
+        // when, then
+        // list는 timeout 초과, 같은 지연에도 create는 성공
+        assertThatThrownBy(() -> transport.exchange(fakeJanusServer.getUrl(), JanusOperation.LIST,
+                createRequest("{\"request\":\"list\"}")))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+        ResponseEntity<String> create = transport.exchange(fakeJanusServer.getUrl(), JanusOperation.CREATE,
+                createRequest("{\"request\":\"create\",\"room\":1234,\"description\":\"title\"}"));
+        assertThat(create.getBody()).contains("\"created\"");
+    }
+
+    private String createRequest(String request) {
+        return "{\"janus\":\"message_plugin\",\"plugin\":\"janus.plugin.videoroom\",\"transaction\":\""
+                + JanusTransaction.next() + "\",\"admin_secret\":\"secret\",\"request\":" + request + "}";
+    }
+}
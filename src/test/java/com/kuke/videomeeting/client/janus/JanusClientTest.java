@@ -0,0 +1,94 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.advice.exception.MediaServerUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JanusClientTest {
+    FakeJanusServer fakeJanusServer;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    HttpJanusTransport transport;
+    JanusClient janusClient;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        fakeJanusServer = new FakeJanusServer(4);
+        transport = new HttpJanusTransport(meterRegistry,
+                4, 30, 1000, 500, 1000, 1000, 1000, 1000, 1000);
+        janusClient = new JanusClient(meterRegistry, new MediaServerHealthRegistry(meterRegistry, 2, 30000, 4),
+                new JanusResponseParser(new Gson()), List.of(transport), "http", 2);
+    }
+
+    @AfterEach
+    public void afterEach() throws IOException {
+        janusClient.destroy();
+        transport.destroy();
+        fakeJanusServer.close();
+    }
+
+    @Test
+    public void createAndListRoomTest() {
+        // when
+        ResponseEntity<String> create = janusClient.post(fakeJanusServer.getUrl(), JanusOperation.CREATE,
+                createRequest("{\"request\":\"create\",\"room\":1234,\"description\":\"title\"}"));
+        ResponseEntity<String> list = janusClient.post(fakeJanusServer.getUrl(), JanusOperation.LIST,
+                createRequest("{\"request\":\"list\"}"));
+
+        // then
+        assertThat(create.getBody()).contains("\"created\"");
+        assertThat(list.getBody()).contains("\"room\":1234");
+        assertThat(fakeJanusServer.hasRoom("1234")).isTrue();
+        assertThat(meterRegistry.timer("janus.client.requests", "server", fakeJanusServer.getUrl(),
+                "operation", "list", "outcome", "success", "transport", "http").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void openCircuitAfterInjectedFailuresTest() {
+        // given
+        fakeJanusServer.withFailureRate(1.0);
+        String request = createRequest("{\"request\":\"list\"}");
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> janusClient.post(fakeJanusServer.getUrl(), JanusOperation.LIST, request))
+                    .isNotInstanceOf(MediaServerUnavailableException.class);
+        }
+
+        // then
+        assertThatThrownBy(() -> janusClient.post(fakeJanusServer.getUrl(), JanusOperation.LIST, request))
+                .isInstanceOf(MediaServerUnavailableException.class);
+        assertThat(fakeJanusServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void openCircuitAfterJanusErrorResponsesTest() {
+        // given
+        // HTTP 200이지만 플러그인이 처리하지 못한 응답(error_code)
+        String request = createRequest("{\"request\":\"unknown\"}");
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            assertThat(janusClient.post(fakeJanusServer.getUrl(), JanusOperation.LIST, request).getStatusCode().is2xxSuccessful()).isTrue();
+        }
+
+        // then
+        assertThatThrownBy(() -> janusClient.post(fakeJanusServer.getUrl(), JanusOperation.LIST, request))
+                .isInstanceOf(MediaServerUnavailableException.class);
+        assertThat(meterRegistry.timer("janus.client.requests", "server", fakeJanusServer.getUrl(),
+                "operation", "list", "outcome", "failure", "transport", "http").count()).isEqualTo(2);
+    }
+
+    private String createRequest(String request) {
+        return "{\"janus\":\"message_plugin\",\"plugin\":\"janus.plugin.videoroom\",\"transaction\":\""
+                + JanusTransaction.next() + "\",\"admin_secret\":\"secret\",\"request\":" + request + "}";
+    }
+}
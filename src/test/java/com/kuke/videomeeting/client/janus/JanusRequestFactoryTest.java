@@ -0,0 +1,73 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JanusRequestFactoryTest {
+    JanusRequestFactory janusRequestFactory = new JanusRequestFactory("admin", "secret", 100, 0);
+
+    @Test
+    public void createRoomEscapesDescriptionTest() {
+        // given
+        String title = "title\", \"publishers\":1000, \"admin_key\":\"x";
+
+        // when
+        JsonObject json = JsonParser.parseString(janusRequestFactory.createRoom("1234", title, "pin")).getAsJsonObject();
+
+        // then
+        JsonObject request = json.getAsJsonObject("request");
+        assertThat(json.get("janus").getAsString()).isEqualTo("message_plugin");
+        assertThat(json.get("admin_secret").getAsString()).isEqualTo("admin");
+        assertThat(request.get("room").getAsLong()).isEqualTo(1234L);
+        assertThat(request.get("description").getAsString()).isEqualTo(title);
+        assertThat(request.get("publishers").getAsInt()).isEqualTo(100);
+        assertThat(request.has("admin_key")).isFalse();
+        assertThat(request.has("bitrate")).isFalse();
+    }
+
+    @Test
+    public void createRoomWithoutNumberAndWithBitrateTest() {
+        // given
+        JanusRequestFactory factory = new JanusRequestFactory("admin", "secret", 100, 512000);
+
+        // when
+        JsonObject request = JsonParser.parseString(factory.createRoom(null, "title", "pin")).getAsJsonObject()
+                .getAsJsonObject("request");
+
+        // then
+        assertThat(request.has("room")).isFalse();
+        assertThat(request.get("bitrate").getAsLong()).isEqualTo(512000L);
+    }
+
+    @Test
+    public void destroyRoomTest() {
+        // when
+        JsonObject json = JsonParser.parseString(janusRequestFactory.destroyRoom("1234")).getAsJsonObject();
+
+        // then
+        assertThat(json.getAsJsonObject("request").get("request").getAsString()).isEqualTo("destroy");
+        assertThat(json.getAsJsonObject("request").get("secret").getAsString()).isEqualTo("secret");
+    }
+
+    @Test
+    public void nonNumericRoomThrownByNumberFormatExceptionTest() {
+        assertThatThrownBy(() -> janusRequestFactory.destroyRoom("1, \"secret\":\"x\""))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    public void adminRequestTest() {
+        // when
+        JsonObject ping = JsonParser.parseString(janusRequestFactory.ping()).getAsJsonObject();
+        JsonObject sessions = JsonParser.parseString(janusRequestFactory.listSessions()).getAsJsonObject();
+
+        // then
+        assertThat(ping.get("janus").getAsString()).isEqualTo("ping");
+        assertThat(sessions.get("janus").getAsString()).isEqualTo("list_sessions");
+        assertThat(sessions.get("admin_secret").getAsString()).isEqualTo("admin");
+        assertThat(sessions.get("transaction").getAsString()).isNotEqualTo(ping.get("transaction").getAsString());
+    }
+}
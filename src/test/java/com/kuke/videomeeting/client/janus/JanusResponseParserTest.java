@@ -0,0 +1,79 @@
+package com.kuke.videomeeting.client.janus;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.advice.exception.MediaServerCommunicationFailureException;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.model.dto.room.RoomSummaryDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JanusResponseParserTest {
+    JanusResponseParser parser = new JanusResponseParser(new Gson());
+
+    String listResponse = "{\"janus\":\"success\",\"transaction\":\"123\",\"response\":{\"videoroom\":\"success\",\"list\":[" +
+            "{\"room\":1234,\"description\":\"title1\",\"pin_required\":true,\"max_publishers\":100,\"bitrate\":0," +
+            "\"audiocodec\":\"opus\",\"videocodec\":\"vp8\",\"record\":false,\"num_participants\":3}," +
+            "{\"description\":\"title2\",\"room\":\"room-id\",\"num_participants\":0,\"max_publishers\":6}" +
+            "]}}";
+
+    @Test
+    public void parseRoomListTest() {
+        // when
+        List<RoomDto> result = parser.parseRoomList(listResponse);
+
+        // then
+        assertThat(result).extracting(RoomDto::getRoom).containsExactly("1234", "room-id");
+        assertThat(result.get(0).getDescription()).isEqualTo("title1");
+        assertThat(result.get(0).getVideocodec()).isEqualTo("vp8");
+        assertThat(result.get(0).getNum_participants()).isEqualTo(3);
+    }
+
+    @Test
+    public void parseRoomSummaryListTest() {
+        // when
+        List<RoomSummaryDto> result = parser.parseRoomSummaryList(listResponse);
+
+        // then
+        assertThat(result).extracting(RoomSummaryDto::getRoom, RoomSummaryDto::getNum_participants, RoomSummaryDto::getMax_publishers)
+                .containsExactly(tuple("1234", 3, "100"), tuple("room-id", 0, "6"));
+    }
+
+    @Test
+    public void parseSessionsTest() {
+        // when
+        List<String> result = parser.parseSessions("{\"janus\":\"success\",\"transaction\":\"1\",\"sessions\":[12345,67890]}");
+
+        // then
+        assertThat(result).containsExactly("12345", "67890");
+    }
+
+    @Test
+    public void parseErrorResponseThrownByMediaServerCommunicationFailureExceptionTest() {
+        String pluginError = "{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":423,\"error\":\"Unauthorized\"}}";
+        String janusError = "{\"janus\":\"error\",\"error\":{\"code\":403,\"reason\":\"Unauthorized request\"}}";
+
+        assertThatThrownBy(() -> parser.parseRoomSummaryList(pluginError))
+                .isInstanceOf(MediaServerCommunicationFailureException.class);
+        assertThatThrownBy(() -> parser.parseRoomList(janusError))
+                .isInstanceOf(MediaServerCommunicationFailureException.class);
+        assertThatThrownBy(() -> parser.parseSessions(janusError))
+                .isInstanceOf(MediaServerCommunicationFailureException.class);
+    }
+
+    @Test
+    public void isErrorTest() {
+        String pluginError = "{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":423,\"error\":\"Unauthorized\"}}";
+        String janusError = "{\"janus\":\"error\",\"error\":{\"code\":403,\"reason\":\"Unauthorized request\"}}";
+        String noSuchRoom = "{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":426,\"error\":\"No such room\"}}";
+
+        assertThat(parser.isError(pluginError)).isTrue();
+        assertThat(parser.isError(janusError)).isTrue();
+        assertThat(parser.isError("not json")).isTrue();
+        assertThat(parser.isError(listResponse)).isFalse();
+        assertThat(parser.isError(noSuchRoom)).isFalse(); // 요청한 방이 없는 것은 서버 장애가 아님
+        assertThat(parser.isError("{\"janus\":\"pong\",\"transaction\":\"1\"}")).isFalse();
+    }
+}
@@ -0,0 +1,78 @@
+package com.kuke.videomeeting.client.janus;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MediaServerCircuitBreakerTest {
+
+    @Test
+    public void openAfterConsecutiveFailuresTest() {
+        // given
+        MediaServerCircuitBreaker breaker = new MediaServerCircuitBreaker(3, 30000, 10);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure(10);
+        }
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(MediaServerCircuitBreaker.State.OPEN);
+        assertThat(breaker.isAvailable()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getHealthScore()).isLessThan(1.0);
+    }
+
+    @Test
+    public void halfOpenAllowsSingleProbeTest() throws InterruptedException {
+        // given
+        MediaServerCircuitBreaker breaker = new MediaServerCircuitBreaker(1, 10, 10);
+        breaker.tryAcquire();
+        breaker.onFailure(10);
+        Thread.sleep(20);
+
+        // when
+        boolean probe = breaker.tryAcquire();
+        boolean second = breaker.tryAcquire();
+
+        // then
+        assertThat(probe).isTrue();
+        assertThat(second).isFalse();
+        assertThat(breaker.getState()).isEqualTo(MediaServerCircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(5);
+        assertThat(breaker.getState()).isEqualTo(MediaServerCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void failedProbeReopensTest() throws InterruptedException {
+        // given
+        MediaServerCircuitBreaker breaker = new MediaServerCircuitBreaker(1, 10, 10);
+        breaker.tryAcquire();
+        breaker.onFailure(10);
+        Thread.sleep(20);
+
+        // when
+        breaker.tryAcquire();
+        breaker.onFailure(10);
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(MediaServerCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void bulkheadLimitsConcurrentRequestsTest() {
+        // given
+        MediaServerCircuitBreaker breaker = new MediaServerCircuitBreaker(5, 30000, 2);
+
+        // when, then
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess(5);
+        assertThat(breaker.getAvailablePermits()).isEqualTo(1);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
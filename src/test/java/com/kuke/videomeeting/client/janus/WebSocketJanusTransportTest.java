@@ -0,0 +1,149 @@
+package com.kuke.videomeeting.client.janus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketJanusTransportTest {
+    @Mock WebSocket webSocket;
+    AtomicInteger disconnected = new AtomicInteger();
+    WebSocketJanusTransport.Connection connection;
+
+    @BeforeEach
+    public void beforeEach() {
+        connection = new WebSocketJanusTransport.Connection("a", 0, c -> disconnected.incrementAndGet());
+        connection.attach(webSocket);
+    }
+
+    @Test
+    public void multiplexConcurrentRequestsTest() throws Exception {
+        // given
+        // 요청과 반대 순서로 응답해도 transaction id로 각 요청에 맞는 응답을 받음
+        List<String> sent = new CopyOnWriteArrayList<>();
+        given(webSocket.sendText(anyString(), anyBoolean())).willAnswer(i -> {
+            sent.add(i.getArgument(0).toString());
+            return CompletableFuture.completedFuture(webSocket);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<String> first = executor.submit(() -> connection.send(createRequest("t-1"), 1000));
+        Future<String> second = executor.submit(() -> connection.send(createRequest("t-2"), 1000));
+        while (sent.size() < 2) Thread.sleep(5);
+        connection.onText(webSocket, createResponse("t-2", "second"), true);
+        connection.onText(webSocket, createResponse("t-1", "first"), true);
+
+        // then
+        assertThat(first.get(1, TimeUnit.SECONDS)).contains("first");
+        assertThat(second.get(1, TimeUnit.SECONDS)).contains("second");
+        assertThat(connection.getPendingCount()).isEqualTo(0);
+        executor.shutdown();
+    }
+
+    @Test
+    public void fragmentedResponseTest() {
+        // given
+        given(webSocket.sendText(anyString(), anyBoolean())).willAnswer(i -> {
+            String response = createResponse("t-1", "list");
+            connection.onText(webSocket, response.substring(0, 10), false);
+            connection.onText(webSocket, response.substring(10), true);
+            return CompletableFuture.completedFuture(webSocket);
+        });
+
+        // when
+        String result = connection.send(createRequest("t-1"), 1000);
+
+        // then
+        assertThat(result).contains("list");
+    }
+
+    @Test
+    public void ignoreAckTest() {
+        // given
+        given(webSocket.sendText(anyString(), anyBoolean())).willAnswer(i -> {
+            connection.onText(webSocket, "{\"janus\":\"ack\",\"transaction\":\"t-1\"}", true);
+            return CompletableFuture.completedFuture(webSocket);
+        });
+
+        // when, then
+        assertThatThrownBy(() -> connection.send(createRequest("t-1"), 50))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(connection.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void failPendingRequestsOnCloseTest() throws Exception {
+        // given
+        given(webSocket.sendText(anyString(), anyBoolean())).willReturn(CompletableFuture.completedFuture(webSocket));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> request = executor.submit(() -> connection.send(createRequest("t-1"), 5000));
+        while (connection.getPendingCount() == 0) Thread.sleep(5);
+
+        // when
+        connection.onClose(webSocket, 1006, "");
+
+        // then
+        assertThatThrownBy(() -> request.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ResourceAccessException.class);
+        assertThat(disconnected.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void openResetsReconnectAttemptsTest() {
+        // given
+        WebSocketJanusTransport.Connection reconnected = new WebSocketJanusTransport.Connection("a", 3, c -> {});
+
+        // when
+        reconnected.onOpen(webSocket);
+
+        // then
+        // 재연결 횟수는 생성할 때 정해지므로 연결된 뒤에 이전 값으로 덮어써지지 않음
+        assertThat(reconnected.getAttempts()).isEqualTo(0);
+    }
+
+    @Test
+    public void closeBeforeOpenTest() {
+        // given
+        WebSocketJanusTransport.Connection unused = new WebSocketJanusTransport.Connection("a", 1, c -> {});
+        unused.close();
+
+        // when
+        unused.onOpen(webSocket);
+
+        // then
+        // handshake 중에 버려진 연결은 열리자마자 닫혀서 남지 않음
+        verify(webSocket).sendClose(WebSocket.NORMAL_CLOSURE, "");
+        verify(webSocket, never()).request(anyLong());
+    }
+
+    @Test
+    public void uniqueTransactionTest() {
+        assertThat(JanusTransaction.next()).isNotEqualTo(JanusTransaction.next());
+    }
+
+    private String createRequest(String transaction) {
+        return "{\"janus\":\"message_plugin\",\"transaction\":\"" + transaction + "\"}";
+    }
+
+    private String createResponse(String transaction, String data) {
+        return "{\"janus\":\"success\",\"transaction\":\"" + transaction + "\",\"response\":{\"data\":\"" + data + "\"}}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.kuke.videomeeting.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulingConfigTest {
+
+    @Test
+    public void poolSizeMatchesScheduledTasksTest() {
+        // given
+        ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        for(int i=0; i<10; i++) taskRegistrar.addFixedDelayTask(() -> {}, 1000L);
+        taskRegistrar.addCronTask(() -> {}, "0 0 * * * *");
+
+        // when
+        new SchedulingConfig().configureTasks(taskRegistrar);
+
+        // then
+        ThreadPoolTaskScheduler scheduler = (ThreadPoolTaskScheduler) taskRegistrar.getScheduler();
+        assertThat(scheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isEqualTo(11);
+        scheduler.shutdown();
+    }
+}
@@ -2,6 +2,7 @@ package com.kuke.videomeeting.controller.message;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kuke.videomeeting.controller.friend.FriendController;
+import com.kuke.videomeeting.model.dto.message.MessageBulkDeleteRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageCreateRequestDto;
 import com.kuke.videomeeting.service.common.ResponseService;
 import com.kuke.videomeeting.service.friend.FriendService;
@@ -25,6 +26,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -80,6 +82,15 @@ class MessageControllerTest {
         verify(messageService).createMessage(any(), any());
     }
 
+    @Test
+    public void readMessageTest() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/messages/{messageId}", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(messageService).readMessage(any(), anyLong());
+    }
+
     @Test
     public void deleteMessageBySenderTest() throws Exception {
 
@@ -98,4 +109,49 @@ class MessageControllerTest {
         verify(messageService).deleteMessageByReceiver(any(), anyLong());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void deleteMessagesBySenderTest() throws Exception {
+
+        // given
+        String content = objectMapper.writeValueAsString(new MessageBulkDeleteRequestDto(List.of(1L, 2L, 3L)));
+
+        // when, then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/messages/sent")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+
+        verify(messageService).deleteMessagesBySender(any(), any());
+    }
+
+    @Test
+    public void deleteMessagesByReceiverTest() throws Exception {
+
+        // given
+        String content = objectMapper.writeValueAsString(new MessageBulkDeleteRequestDto(List.of(1L, 2L, 3L)));
+
+        // when, then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/messages/received")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+
+        verify(messageService).deleteMessagesByReceiver(any(), any());
+    }
+
+    @Test
+    public void deleteMessagesWithEmptyIdsTest() throws Exception {
+
+        // given
+        String content = objectMapper.writeValueAsString(new MessageBulkDeleteRequestDto(List.of()));
+
+        // when, then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/messages/received")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(MockMvcResultMatchers.status().is4xxClientError());
+
+        verify(messageService, never()).deleteMessagesByReceiver(any(), any());
+    }
+
+}
@@ -52,6 +52,22 @@ class MessageTest {
         assertThat(result.getSenderDeleteStatus()).isEqualTo(DeleteStatus.N);
     }
 
+    @Test
+    public void createMessagePreviewTest() {
+        // given
+        User sender = userRepository.findByUid("sender").orElseThrow(UserNotFoundException::new);
+        User receiver = userRepository.findByUid("receiver").orElseThrow(UserNotFoundException::new);
+        String msg = "\uD83D\uDE00".repeat(Message.PREVIEW_LENGTH + 1); // surrogate pair 문자
+
+        // when
+        Message shortMessage = Message.createMessage("short", sender, receiver);
+        Message longMessage = Message.createMessage(msg, sender, receiver);
+
+        // then
+        assertThat(shortMessage.getPreview()).isEqualTo("short");
+        assertThat(longMessage.getPreview()).isEqualTo("\uD83D\uDE00".repeat(Message.PREVIEW_LENGTH));
+    }
+
     @Test
     public void DeleteMessageTest() {
         // given
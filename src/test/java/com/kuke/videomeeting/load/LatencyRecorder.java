@@ -0,0 +1,65 @@
+package com.kuke.videomeeting.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트 결과(처리량, 지연 시간 백분위) 집계
+ */
+public class LatencyRecorder {
+    private final String name;
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicLong failures = new AtomicLong();
+    private long startedAt;
+    private long finishedAt;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void start() {
+        startedAt = System.nanoTime();
+    }
+
+    public void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    public void record(long startNanos) {
+        latencies.add(System.nanoTime() - startNanos);
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    public long getCount() {
+        return latencies.size();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public double getThroughput() {
+        return latencies.size() / ((finishedAt - startedAt) / 1_000_000_000.0);
+    }
+
+    public double getPercentileMillis(double percentile) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        if(sorted.isEmpty()) return 0;
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    public String report() {
+        return String.format("[load] %s - count: %d, failures: %d, elapsed: %dms, throughput: %.1f/s, p50: %.2fms, p99: %.2fms, max: %.2fms",
+                name, getCount(), getFailures(), TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt),
+                getThroughput(), getPercentileMillis(50), getPercentileMillis(99), getPercentileMillis(100));
+    }
+}
@@ -0,0 +1,183 @@
+package com.kuke.videomeeting.load;
+
+import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
+import com.kuke.videomeeting.repository.message.MessageRepository;
+import com.kuke.videomeeting.repository.user.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 한 사용자에게 메시지를 많이 쌓아두고 스크롤 위치(최신, 중간, 가장 오래된 쪽)별 페이지 조회 지연 시간 측정
+ * 기본 test 태스크에서는 제외, ./gradlew loadTest 로 실행 (-Dbenchmark.messages 로 메시지 수 변경)
+ * 기본은 H2에서 실행하는 smoke check로, 지연 시간은 참고용이고 실제로 검증하는 것은 조회가 스크롤 인덱스를 타는지(EXPLAIN)
+ * 운영과 같은 MySQL 실행 계획(인덱스 사용, filesort 없음)은 -Dbenchmark.datasource.url=jdbc:mysql://... 로 실행해서 확인
+ * (-Dbenchmark.datasource.username, -Dbenchmark.datasource.password)
+ */
+@Tag("load")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.kuke.videomeeting.load.MessageScrollBenchmarkTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MessageScrollBenchmarkTest {
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 1_000_000);
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired UserRepository userRepository;
+    @Autowired MessageRepository messageRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @PersistenceContext EntityManager em;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("benchmark.datasource.url");
+        if(url == null) return; // test 설정의 H2
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.datasource.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.datasource.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+    }
+
+    @Test
+    public void sentMessagesScrollLatencyTest() {
+        // given
+        User sender = userRepository.save(User.createUser("sender", "sender", "sender", "sender", null));
+        User receiver = userRepository.save(User.createUser("receiver", "receiver", "receiver", "receiver", null));
+        em.flush();
+        long firstId = insertMessages(sender.getId(), receiver.getId());
+
+        Function<Long, Slice<SimpleMessageDto>> query =
+                lastMessageId -> messageRepository.findSentMessagesByUserIdOrderById(sender.getId(), lastMessageId, PageRequest.of(0, PAGE_SIZE));
+
+        // when
+        List<LatencyRecorder> recorders = measure("sent", firstId, query);
+
+        // then
+        assertUsesIndex(query, sender.getId(), firstId + MESSAGES / 2, "idx_message_sender_scroll");
+        assertFlat(recorders);
+    }
+
+    @Test
+    public void receivedMessagesScrollLatencyTest() {
+        // given
+        User sender = userRepository.save(User.createUser("sender", "sender", "sender", "sender", null));
+        User receiver = userRepository.save(User.createUser("receiver", "receiver", "receiver", "receiver", null));
+        em.flush();
+        long firstId = insertMessages(sender.getId(), receiver.getId());
+
+        Function<Long, Slice<SimpleMessageDto>> query =
+                lastMessageId -> messageRepository.findReceivedMessagesByUserIdOrderById(receiver.getId(), lastMessageId, PageRequest.of(0, PAGE_SIZE));
+
+        // when
+        List<LatencyRecorder> recorders = measure("received", firstId, query);
+
+        // then
+        assertUsesIndex(query, receiver.getId(), firstId + MESSAGES / 2, "idx_message_receiver_scroll");
+        assertFlat(recorders);
+    }
+
+    private long insertMessages(Long senderId, Long receiverId) {
+        // JPA로 하나씩 저장하면 오래 걸리므로 jdbc batch로 직접 저장
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < MESSAGES; i += INSERT_BATCH_SIZE) {
+            List<Object[]> args = new ArrayList<>();
+            for (int j = i; j < Math.min(i + INSERT_BATCH_SIZE, MESSAGES); j++) {
+                args.add(new Object[]{"msg" + j, "msg" + j, senderId, "N", receiverId, "N", now, now});
+            }
+            jdbcTemplate.batchUpdate("insert into message (msg, preview, sender_id, sender_delete_status, receiver_id, receiver_delete_status, created_at, modified_at) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?)", args);
+        }
+        return jdbcTemplate.queryForObject("select min(message_id) from message", Long.class);
+    }
+
+    private List<LatencyRecorder> measure(String name, long firstId, Function<Long, Slice<SimpleMessageDto>> query) {
+        // 최신 페이지, 중간 페이지, 가장 오래된 쪽 페이지
+        long[] positions = {Long.MAX_VALUE, firstId + MESSAGES / 2, firstId + PAGE_SIZE * 2};
+        for (long position : positions) query.apply(position); // warm up
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        for (long position : positions) {
+            LatencyRecorder recorder = new LatencyRecorder(name + " scroll from " + (position == Long.MAX_VALUE ? "latest" : position) + " of " + MESSAGES);
+            recorder.start();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                Slice<SimpleMessageDto> result = query.apply(position);
+                recorder.record(start);
+                assertThat(result.getContent()).hasSize(PAGE_SIZE);
+                em.clear();
+            }
+            recorder.finish();
+            System.out.println(recorder.report());
+            recorders.add(recorder);
+        }
+        return recorders;
+    }
+
+    private void assertUsesIndex(Function<Long, Slice<SimpleMessageDto>> query, Long userId, long lastMessageId, String index) {
+        // hibernate가 실제로 보낸 SQL의 실행 계획 확인, 파라미터 순서는 userId, lastMessageId, limit
+        SqlCapture.clear();
+        query.apply(lastMessageId);
+        String sql = SqlCapture.get();
+        Object[] args = {userId, lastMessageId, PAGE_SIZE + 1};
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getURL());
+        if(url.startsWith("jdbc:mysql")) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+            System.out.println(plan);
+            assertThat(plan).anySatisfy(row -> {
+                assertThat(row.get("key")).isEqualTo(index);
+                assertThat(String.valueOf(row.get("Extra"))).doesNotContainIgnoringCase("filesort");
+            });
+        } else {
+            String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+            System.out.println(plan);
+            assertThat(plan).containsIgnoringCase(index);
+        }
+    }
+
+    private void assertFlat(List<LatencyRecorder> recorders) {
+        // 스크롤 위치와 관계없이 limit만큼만 읽으므로 깊은 페이지도 최신 페이지와 비슷해야 함
+        double latest = recorders.get(0).getPercentileMillis(50);
+        for (LatencyRecorder recorder : recorders) {
+            assertThat(recorder.getPercentileMillis(50)).isLessThan(latest * 2 + 1);
+        }
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        // 마지막으로 실행된 message 조회 SQL
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            if(sql.toLowerCase().contains("from message")) SqlCapture.sql = sql;
+            return sql;
+        }
+
+        static void clear() {
+            sql = null;
+        }
+
+        static String get() {
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.kuke.videomeeting.load;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.cache.RoomCache;
+import com.kuke.videomeeting.client.janus.*;
+import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.room.MediaServerResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomCreateRequestDto;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.repository.user.UserRepository;
+import com.kuke.videomeeting.scheduler.DestroyEmptyRoomScheduler;
+import com.kuke.videomeeting.scheduler.RedisLeaseLock;
+import com.kuke.videomeeting.service.file.FileService;
+import com.kuke.videomeeting.service.room.ParticipantCounterService;
+import com.kuke.videomeeting.service.room.RoomOutboxService;
+import com.kuke.videomeeting.service.room.RoomPoolService;
+import com.kuke.videomeeting.service.room.RoomService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import com.kuke.videomeeting.service.room.placement.LeastLoadedPlacementStrategy;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoadTracker;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import com.kuke.videomeeting.service.room.placement.PlacementEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 가짜 janus 서버 여러 대를 띄워서 RoomService, DestroyEmptyRoomScheduler의 처리량과 지연 시간 측정
+ * 기본 test 태스크에서는 제외, ./gradlew loadTest 로 실행
+ */
+@Tag("load")
+class RoomServiceLoadTest {
+    private static final int SERVERS = 4;
+    private static final int ROOMS_PER_SERVER = 2500;
+    private static final int THREADS = 16;
+    private static final long LATENCY_MILLIS = 2;
+
+    List<FakeJanusServer> fakeJanusServers = new ArrayList<>();
+    List<String> servers = new ArrayList<>();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    HttpJanusTransport transport;
+    JanusClient janusClient;
+    RoomService roomService;
+    ParticipantCounterService participantCounterService;
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        for (int i = 0; i < SERVERS; i++) {
+            FakeJanusServer fakeJanusServer = new FakeJanusServer(THREADS * 2).withLatency(LATENCY_MILLIS);
+            fakeJanusServer.seedRooms(ROOMS_PER_SERVER / 2, 0);
+            fakeJanusServer.seedRooms(ROOMS_PER_SERVER / 2, 3);
+            fakeJanusServers.add(fakeJanusServer);
+            servers.add(fakeJanusServer.getUrl());
+        }
+        transport = new HttpJanusTransport(meterRegistry, THREADS * 2, 30,
+                1000, 1000, 5000, 5000, 5000, 5000, 5000);
+        MediaServerHealthRegistry healthRegistry = new MediaServerHealthRegistry(meterRegistry, 5, 30000, THREADS * 2);
+        janusClient = new JanusClient(meterRegistry, healthRegistry, new JanusResponseParser(new Gson()), List.of(transport), "http", THREADS * 2);
+        roomService = createRoomService(healthRegistry);
+    }
+
+    @AfterEach
+    public void afterEach() throws Exception {
+        executor.shutdownNow();
+        janusClient.destroy();
+        transport.destroy();
+        fakeJanusServers.forEach(FakeJanusServer::close);
+    }
+
+    @Test
+    public void readAllRoomsLoadTest() throws Exception {
+        // given
+        LatencyRecorder recorder = new LatencyRecorder("readAllRooms (" + SERVERS + " servers x " + ROOMS_PER_SERVER + " rooms)");
+
+        // when
+        run(recorder, THREADS * 5, () -> {
+            MediaServerResultDto<List<RoomDto>> result = roomService.readAllRooms();
+            assertThat(result.getResult()).hasSize(SERVERS);
+        });
+
+        // then
+        System.out.println(recorder.report());
+        assertThat(recorder.getFailures()).isEqualTo(0);
+    }
+
+    @Test
+    public void createRoomLoadTest() throws Exception {
+        // given
+        int rooms = 2000;
+        LatencyRecorder recorder = new LatencyRecorder("createRoom (" + rooms + " rooms)");
+
+        // when
+        run(recorder, rooms, () -> roomService.createRoom(1L, new RoomCreateRequestDto("title")));
+
+        // then
+        System.out.println(recorder.report());
+        assertThat(recorder.getFailures()).isEqualTo(0);
+        assertThat(fakeJanusServers.stream().mapToInt(FakeJanusServer::getRoomCount).sum())
+                .isEqualTo(SERVERS * ROOMS_PER_SERVER + rooms);
+    }
+
+    @Test
+    public void destroyEmptyRoomLoadTest() {
+        // given
+        DestroyEmptyRoomScheduler scheduler = createDestroyEmptyRoomScheduler();
+        LatencyRecorder recorder = new LatencyRecorder("destroyEmptyRoom (" + SERVERS * ROOMS_PER_SERVER / 2 + " empty rooms)");
+
+        // when
+        // 첫 번째 검사에서 빈 방을 기록하고, 두 번째 검사에서 파괴
+        recorder.start();
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            scheduler.destroyEmptyRoom();
+            recorder.record(start);
+        }
+        recorder.finish();
+
+        // then
+        System.out.println(recorder.report());
+        assertThat(fakeJanusServers.stream().mapToInt(FakeJanusServer::getRoomCount).sum())
+                .isEqualTo(SERVERS * ROOMS_PER_SERVER / 2);
+        assertThat(meterRegistry.find("janus.reaper.rooms.destroyed").counters().stream()
+                .mapToDouble(c -> c.count()).sum()).isEqualTo(SERVERS * ROOMS_PER_SERVER / 2.0);
+    }
+
+    private void run(LatencyRecorder recorder, int count, Runnable task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        recorder.start();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                    recorder.record(start);
+                } catch (Throwable e) {
+                    recorder.recordFailure();
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get(5, TimeUnit.MINUTES);
+        recorder.finish();
+    }
+
+    private RoomService createRoomService(MediaServerHealthRegistry healthRegistry) {
+        Gson gson = new Gson();
+        MediaServerLoadTracker loadTracker = new MediaServerLoadTracker(meterRegistry, 0.01);
+        PlacementEngine placementEngine = new PlacementEngine(loadTracker, healthRegistry,
+                List.of(new LeastLoadedPlacementStrategy()), "least-loaded");
+
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        UserRepository userRepository = stub(UserRepository.class);
+        given(userRepository.findById(anyLong())).willReturn(Optional.of(user));
+        FileService fileService = stub(FileService.class);
+        given(fileService.deleteFilesInDirectories(any())).willReturn(Set.of());
+        MediaServerCapacityLedger capacityLedger = stub(MediaServerCapacityLedger.class);
+        given(capacityLedger.filterAvailable(any(), anyInt())).willAnswer(i -> i.getArgument(0));
+        given(capacityLedger.tryReserve(any(), anyInt())).willReturn(true);
+        participantCounterService = stub(ParticipantCounterService.class);
+        RoomPoolService roomPoolService = stub(RoomPoolService.class);
+        given(roomPoolService.claim(any(), any())).willReturn(Optional.empty());
+        RoomOutboxService roomOutboxService = stub(RoomOutboxService.class);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(roomOutboxService.confirm(any())).willReturn(true);
+
+        MediaServerRegistry mediaServerRegistry = stub(MediaServerRegistry.class);
+        given(mediaServerRegistry.getServers()).willReturn(servers);
+        given(mediaServerRegistry.getPlaceableServers()).willReturn(servers);
+
+        RoomService roomService = new RoomService(janusClient, new JanusResponseParser(gson),
+                new JanusRequestFactory("admin", "secret", 100, 0), userRepository, fileService,
+                stub(RoomRepository.class), placementEngine, mediaServerRegistry, capacityLedger, loadTracker, stub(CapacityHistory.class),
+                participantCounterService, stub(RoomCache.class), roomPoolService, roomOutboxService, gson, meterRegistry);
+        ReflectionTestUtils.setField(roomService, "fanOutDeadline", 10000L);
+        ReflectionTestUtils.setField(roomService, "destroyParallelism", 8);
+        ReflectionTestUtils.setField(roomService, "outboxStale", 60000L);
+        ReflectionTestUtils.setField(roomService, "publishers", 100);
+        return roomService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DestroyEmptyRoomScheduler createDestroyEmptyRoomScheduler() {
+        // 이전 검사 결과를 저장하는 redis는 메모리로 대체
+        Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        StringRedisTemplate redisTemplate = stub(StringRedisTemplate.class);
+        SetOperations<String, String> setOperations = stub(SetOperations.class);
+        ValueOperations<String, String> valueOperations = stub(ValueOperations.class);
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(redisTemplate.hasKey(anyString())).willAnswer(i -> keys.contains(i.<String>getArgument(0)));
+        given(redisTemplate.delete(anyString())).willAnswer(i -> sets.remove(i.<String>getArgument(0)) != null);
+        given(setOperations.members(anyString())).willAnswer(i -> sets.getOrDefault(i.<String>getArgument(0), Set.of()));
+        given(setOperations.add(anyString(), any())).willAnswer(i -> {
+            Object[] arguments = i.getArguments();
+            Set<String> set = sets.computeIfAbsent((String) arguments[0], k -> ConcurrentHashMap.newKeySet());
+            for (int j = 1; j < arguments.length; j++) set.add((String) arguments[j]);
+            return (long) arguments.length - 1;
+        });
+        doAnswer(i -> keys.add(i.getArgument(0)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        RedisLeaseLock leaseLock = stub(RedisLeaseLock.class);
+        given(leaseLock.tryAcquire(any(), any())).willReturn(true);
+        RoomPoolService roomPoolService = stub(RoomPoolService.class);
+        given(roomPoolService.readPooledNumbers(any())).willReturn(Set.of());
+        return new DestroyEmptyRoomScheduler(roomService, participantCounterService, roomPoolService,
+                leaseLock, redisTemplate, meterRegistry);
+    }
+
+    private <T> T stub(Class<T> type) {
+        // 호출 기록을 남기지 않아서 수천 번 호출해도 메모리를 차지하지 않음
+        return mock(type, withSettings().stubOnly());
+    }
+}
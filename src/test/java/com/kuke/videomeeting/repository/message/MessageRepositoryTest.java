@@ -3,6 +3,7 @@ package com.kuke.videomeeting.repository.message;
 import com.kuke.videomeeting.domain.DeleteStatus;
 import com.kuke.videomeeting.domain.Message;
 import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.message.SimpleMessageDto;
 import com.kuke.videomeeting.repository.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.data.domain.Slice;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -24,7 +26,7 @@ class MessageRepositoryTest {
     @PersistenceContext EntityManager em;
 
     @Test
-    public void findSentMessagesByUserIdOrderByCreatedAtTest() {
+    public void findSentMessagesByUserIdOrderByIdTest() {
         // given
         User sender = createUserEntity("sender");
         User receiver = createUserEntity("receiver");
@@ -33,20 +35,22 @@ class MessageRepositoryTest {
         em.flush(); em.clear();
 
         // when
-        Slice<Message> result1 = messageRepository.findSentMessagesByUserIdOrderByCreatedAt(sender.getId(), Long.MAX_VALUE, PageRequest.of(0, 3));
-        List<Message> content1 = result1.getContent();
-        Message lastMessage1 = content1.get(content1.size() - 1);
-        Slice<Message> result2 = messageRepository.findSentMessagesByUserIdOrderByCreatedAt(sender.getId(), lastMessage1.getId(), PageRequest.of(0, 3));
-        List<Message> content2 = result2.getContent();
+        Slice<SimpleMessageDto> result1 = messageRepository.findSentMessagesByUserIdOrderById(sender.getId(), Long.MAX_VALUE, PageRequest.of(0, 3));
+        List<SimpleMessageDto> content1 = result1.getContent();
+        SimpleMessageDto lastMessage1 = content1.get(content1.size() - 1);
+        Slice<SimpleMessageDto> result2 = messageRepository.findSentMessagesByUserIdOrderById(sender.getId(), lastMessage1.getId(), PageRequest.of(0, 3));
+        List<SimpleMessageDto> content2 = result2.getContent();
 
         // then
         assertThat(content1.size()).isEqualTo(3);
+        assertThat(content1).extracting(SimpleMessageDto::getId).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(content1).extracting(SimpleMessageDto::getNickname).containsOnly(receiver.getNickname());
         assertThat(content2.size()).isEqualTo(2);
         assertThat(result2.hasNext()).isFalse();
     }
 
     @Test
-    public void findReceivedMessagesByUserIdOrderByCreatedAt() {
+    public void findReceivedMessagesByUserIdOrderById() {
         // given
         User sender = createUserEntity("sender");
         User receiver = createUserEntity("receiver");
@@ -55,18 +59,42 @@ class MessageRepositoryTest {
         em.flush(); em.clear();
 
         // when
-        Slice<Message> result1 = messageRepository.findReceivedMessagesByUserIdOrderByCreatedAt(receiver.getId(), Long.MAX_VALUE, PageRequest.of(0, 3));
-        List<Message> content1 = result1.getContent();
-        Message lastMessage1 = content1.get(content1.size() - 1);
-        Slice<Message> result2 = messageRepository.findReceivedMessagesByUserIdOrderByCreatedAt(receiver.getId(), lastMessage1.getId(), PageRequest.of(0, 3));
-        List<Message> content2 = result2.getContent();
+        Slice<SimpleMessageDto> result1 = messageRepository.findReceivedMessagesByUserIdOrderById(receiver.getId(), Long.MAX_VALUE, PageRequest.of(0, 3));
+        List<SimpleMessageDto> content1 = result1.getContent();
+        SimpleMessageDto lastMessage1 = content1.get(content1.size() - 1);
+        Slice<SimpleMessageDto> result2 = messageRepository.findReceivedMessagesByUserIdOrderById(receiver.getId(), lastMessage1.getId(), PageRequest.of(0, 3));
+        List<SimpleMessageDto> content2 = result2.getContent();
 
         // then
         assertThat(content1.size()).isEqualTo(3);
+        assertThat(content1).extracting(SimpleMessageDto::getId).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(content1).extracting(SimpleMessageDto::getNickname).containsOnly(sender.getNickname());
         assertThat(content2.size()).isEqualTo(2);
         assertThat(result2.hasNext()).isFalse();
     }
 
+    @Test
+    public void findCounterpartIdsTest() {
+        // given
+        User user = createUserEntity("user");
+        User receiver1 = createUserEntity("receiver1");
+        User receiver2 = createUserEntity("receiver2");
+        User sender = createUserEntity("sender");
+        initMessages(2, user, receiver1);
+        initMessages(1, user, receiver2).get(0).changeReceiverDeleteStatus(DeleteStatus.Y);
+        initMessages(1, sender, user);
+        em.flush(); em.clear();
+
+        // when
+        List<Long> receiverIds = messageRepository.findReceiverIdsBySenderId(user.getId());
+        List<Long> senderIds = messageRepository.findSenderIdsByReceiverId(user.getId());
+
+        // then
+        // 상대방이 이미 삭제해서 목록에 없는 메시지의 상대방은 제외
+        assertThat(receiverIds).containsExactly(receiver1.getId());
+        assertThat(senderIds).containsExactly(sender.getId());
+    }
+
     private List<Message> initMessages(int size, User sender, User receiver) {
         List<Message> messages = new ArrayList<>();
         for(int i=0; i<size; i++) messages.add(Message.createMessage("msg" + i, sender, receiver));
@@ -77,4 +105,68 @@ class MessageRepositoryTest {
     private User createUserEntity(String name) {
         return userRepository.save(User.createUser(name, name, name, name, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findWithUsersByIdTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        Message message = initMessages(1, sender, receiver).get(0);
+        em.flush(); em.clear();
+
+        // when
+        Message result = messageRepository.findWithUsersById(message.getId()).orElseThrow();
+
+        // then
+        assertThat(result.getMsg()).isEqualTo("msg0");
+        assertThat(result.getSender().getNickname()).isEqualTo(sender.getNickname());
+        assertThat(result.getReceiver().getNickname()).isEqualTo(receiver.getNickname());
+    }
+
+    @Test
+    public void deleteMessagesBySenderTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        User other = createUserEntity("other");
+        List<Message> messages = initMessages(3, sender, receiver);
+        messages.get(0).changeReceiverDeleteStatus(DeleteStatus.Y);
+        Message otherMessage = initMessages(1, other, receiver).get(0);
+        em.flush(); em.clear();
+        List<Long> ids = List.of(messages.get(0).getId(), messages.get(1).getId(), otherMessage.getId());
+
+        // when
+        int deleted = messageRepository.deleteReceiverDeletedMessagesBySender(sender.getId(), ids);
+        int updated = messageRepository.updateSenderDeleteStatus(sender.getId(), ids);
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(updated).isEqualTo(1);
+        assertThat(messageRepository.findById(messages.get(0).getId())).isEmpty();
+        assertThat(messageRepository.findById(messages.get(1).getId()).orElseThrow().getSenderDeleteStatus()).isEqualTo(DeleteStatus.Y);
+        assertThat(messageRepository.findById(messages.get(2).getId()).orElseThrow().getSenderDeleteStatus()).isEqualTo(DeleteStatus.N);
+        assertThat(messageRepository.findById(otherMessage.getId()).orElseThrow().getSenderDeleteStatus()).isEqualTo(DeleteStatus.N);
+    }
+
+    @Test
+    public void deleteMessagesByReceiverTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        List<Message> messages = initMessages(3, sender, receiver);
+        messages.get(0).changeSenderDeleteStatus(DeleteStatus.Y);
+        messages.get(2).changeReceiverDeleteStatus(DeleteStatus.Y);
+        em.flush(); em.clear();
+        List<Long> ids = List.of(messages.get(0).getId(), messages.get(1).getId(), messages.get(2).getId());
+
+        // when
+        int deleted = messageRepository.deleteSenderDeletedMessagesByReceiver(receiver.getId(), ids);
+        int updated = messageRepository.updateReceiverDeleteStatus(receiver.getId(), ids);
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(updated).isEqualTo(1); // 이미 삭제한 메시지는 다시 변경하지 않음
+        assertThat(messageRepository.findById(messages.get(0).getId())).isEmpty();
+        assertThat(messageRepository.findById(messages.get(1).getId()).orElseThrow().getReceiverDeleteStatus()).isEqualTo(DeleteStatus.Y);
+    }
+}
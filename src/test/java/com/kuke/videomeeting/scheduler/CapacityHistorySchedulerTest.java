@@ -0,0 +1,53 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.service.room.RoomService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CapacityHistorySchedulerTest {
+    @Mock RoomService roomService;
+    @Mock CapacityHistory capacityHistory;
+    @Mock RedisLeaseLock leaseLock;
+    CapacityHistoryScheduler scheduler;
+
+    @BeforeEach
+    public void beforeEach() {
+        scheduler = new CapacityHistoryScheduler(roomService, capacityHistory, leaseLock);
+    }
+
+    @Test
+    public void skipSamplingWhenLeaseIsHeldByOtherInstanceTest() {
+        // given
+        given(leaseLock.tryAcquire(eq("capacity-history"), any())).willReturn(false);
+
+        // when
+        scheduler.sampleSessions();
+
+        // then
+        verifyNoInteractions(roomService);
+    }
+
+    @Test
+    public void sampleAndPersistOnLeaseHolderTest() {
+        // given
+        given(leaseLock.tryAcquire(eq("capacity-history"), any())).willReturn(true);
+
+        // when
+        scheduler.sampleSessions();
+        scheduler.persist();
+
+        // then
+        verify(roomService).readAllSessions();
+        verify(capacityHistory).persist();
+    }
+}
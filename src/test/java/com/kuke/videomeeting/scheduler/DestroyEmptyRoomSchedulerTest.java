@@ -0,0 +1,103 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.kuke.videomeeting.model.dto.room.RoomDestroyResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomDestroyStatus;
+import com.kuke.videomeeting.service.room.ParticipantCounterService;
+import com.kuke.videomeeting.service.room.RoomPoolService;
+import com.kuke.videomeeting.service.room.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DestroyEmptyRoomSchedulerTest {
+    @Mock RoomService roomService;
+    @Mock ParticipantCounterService participantCounterService;
+    @Mock RoomPoolService roomPoolService;
+    @Mock RedisLeaseLock leaseLock;
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock SetOperations<String, String> setOperations;
+    @Mock ValueOperations<String, String> valueOperations;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    DestroyEmptyRoomScheduler scheduler;
+
+    @BeforeEach
+    public void beforeEach() {
+        scheduler = new DestroyEmptyRoomScheduler(roomService, participantCounterService, roomPoolService, leaseLock, redisTemplate, meterRegistry);
+    }
+
+    @Test
+    public void skipWhenLeaseIsHeldByOtherInstanceTest() {
+        // given
+        given(leaseLock.tryAcquire(anyString(), any())).willReturn(false);
+
+        // when
+        scheduler.destroyEmptyRoom();
+
+        // then
+        verifyNoInteractions(roomService, participantCounterService);
+        assertThat(meterRegistry.counter("janus.reaper.cycles", "outcome", "skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void destroyRoomsEmptyInPreviousCheckTest() {
+        // given
+        given(leaseLock.tryAcquire(anyString(), any())).willReturn(true);
+        given(participantCounterService.isSynced()).willReturn(true);
+        given(participantCounterService.readAllCounts()).willReturn(Map.of("a", Map.of("1", 0, "2", 0, "3", 2)));
+        given(redisTemplate.hasKey("reaper:checked-at:a")).willReturn(true);
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(setOperations.members("reaper:empty-rooms:a")).willReturn(Set.of("1", "3"));
+        given(roomService.destroyRooms(Map.of("a", List.of("1"))))
+                .willReturn(List.of(new RoomDestroyResultDto("a", "1", RoomDestroyStatus.DESTROYED)));
+
+        // when
+        scheduler.destroyEmptyRoom();
+
+        // then
+        verify(setOperations).add("reaper:empty-rooms:a", "2");
+        assertThat(meterRegistry.counter("janus.reaper.rooms.scanned", "server", "a").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.counter("janus.reaper.rooms.destroyed", "server", "a").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("janus.reaper.cycles", "outcome", "success").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("janus.reaper.cycle.duration", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void skipPooledRoomsTest() {
+        // given
+        given(leaseLock.tryAcquire(anyString(), any())).willReturn(true);
+        given(participantCounterService.isSynced()).willReturn(true);
+        given(participantCounterService.readAllCounts()).willReturn(Map.of("a", Map.of("1", 0, "2", 0)));
+        given(roomPoolService.readPooledNumbers("a")).willReturn(Set.of("2"));
+        given(redisTemplate.hasKey("reaper:checked-at:a")).willReturn(true);
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(setOperations.members("reaper:empty-rooms:a")).willReturn(Set.of("1", "2"));
+        given(roomService.destroyRooms(Map.of("a", List.of("1"))))
+                .willReturn(List.of(new RoomDestroyResultDto("a", "1", RoomDestroyStatus.DESTROYED)));
+
+        // when
+        scheduler.destroyEmptyRoom();
+
+        // then
+        verify(roomService).destroyRooms(Map.of("a", List.of("1")));
+        assertThat(meterRegistry.counter("janus.reaper.rooms.empty", "server", "a").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.kuke.videomeeting.scheduler;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServerHeartbeatSchedulerTest {
+    @Mock MediaServerRegistry mediaServerRegistry;
+    @Mock JanusClient janusClient;
+    @Mock RedisLeaseLock leaseLock;
+    MediaServerHeartbeatScheduler scheduler;
+
+    @BeforeEach
+    public void beforeEach() {
+        scheduler = new MediaServerHeartbeatScheduler(mediaServerRegistry, janusClient,
+                new JanusRequestFactory("ad\"min", "secret", 100, 0), leaseLock);
+    }
+
+    @Test
+    public void heartbeatOnlyRespondingServersTest() {
+        // given
+        given(leaseLock.tryAcquire(eq("media-server-heartbeat"), any())).willReturn(true);
+        given(mediaServerRegistry.getServers()).willReturn(List.of("a", "b"));
+        given(janusClient.postAsync(eq("a"), eq(JanusOperation.PING), any()))
+                .willReturn(CompletableFuture.completedFuture(ResponseEntity.ok("{\"janus\":\"pong\",\"transaction\":\"1\"}")));
+        given(janusClient.postAsync(eq("b"), eq(JanusOperation.PING), any()))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException("timeout")));
+
+        // when
+        scheduler.heartbeat();
+
+        // then
+        verify(mediaServerRegistry).heartbeat("a");
+        verify(mediaServerRegistry, never()).heartbeat("b");
+    }
+
+    @Test
+    public void pingEscapesAdminSecretTest() {
+        // given
+        given(leaseLock.tryAcquire(eq("media-server-heartbeat"), any())).willReturn(true);
+        given(mediaServerRegistry.getServers()).willReturn(List.of("a"));
+        given(janusClient.postAsync(eq("a"), eq(JanusOperation.PING), any()))
+                .willReturn(CompletableFuture.completedFuture(ResponseEntity.ok("{\"janus\":\"pong\",\"transaction\":\"1\"}")));
+
+        // when
+        scheduler.heartbeat();
+
+        // then
+        // 따옴표가 있는 admin secret도 올바른 JSON으로 전송
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(janusClient).postAsync(eq("a"), eq(JanusOperation.PING), captor.capture());
+        JsonObject request = JsonParser.parseString(captor.getValue()).getAsJsonObject();
+        assertThat(request.get("janus").getAsString()).isEqualTo("ping");
+        assertThat(request.get("admin_secret").getAsString()).isEqualTo("ad\"min");
+    }
+
+    @Test
+    public void skipHeartbeatWhenLeaseIsHeldByOtherInstanceTest() {
+        // given
+        given(leaseLock.tryAcquire(eq("media-server-heartbeat"), any())).willReturn(false);
+
+        // when
+        scheduler.heartbeat();
+
+        // then
+        verifyNoInteractions(janusClient);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kuke.videomeeting.service.message;
+
+import com.kuke.videomeeting.cache.MessageCacheGeneration;
+import com.kuke.videomeeting.cache.MessageHeadCache;
+import com.kuke.videomeeting.config.cache.CacheKey;
+import com.kuke.videomeeting.repository.message.MessageRepository;
+import com.kuke.videomeeting.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class MessageServiceCacheTest {
+    @Autowired MessageService messageService;
+    @Autowired MessageRepository messageRepository;
+    @Autowired MessageCacheGeneration messageCacheGeneration;
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheKey.SENT_MESSAGES, CacheKey.RECEIVED_MESSAGES);
+        }
+
+        @Bean
+        public MessageRepository messageRepository() {
+            return mock(MessageRepository.class);
+        }
+
+        @Bean
+        public MessageCacheGeneration messageCacheGeneration() {
+            return mock(MessageCacheGeneration.class);
+        }
+
+        @Bean
+        public MessageService messageService(MessageRepository messageRepository, MessageCacheGeneration messageCacheGeneration) {
+            return new MessageService(messageRepository, mock(UserRepository.class), messageCacheGeneration, mock(MessageHeadCache.class));
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        reset(messageRepository, messageCacheGeneration);
+        given(messageRepository.findSentMessagesByUserIdOrderById(anyLong(), anyLong(), any())).willReturn(new SliceImpl<>(List.of()));
+    }
+
+    @Test
+    public void readFromCacheUntilGenerationChangesTest() {
+        // given
+        given(messageCacheGeneration.getSent(1L)).willReturn(0L);
+        messageService.readAllSentMessagesUsingScroll(1L, Long.MAX_VALUE, 10);
+        messageService.readAllSentMessagesUsingScroll(1L, Long.MAX_VALUE, 10);
+        verify(messageRepository, times(1)).findSentMessagesByUserIdOrderById(anyLong(), anyLong(), any());
+
+        // when
+        given(messageCacheGeneration.getSent(1L)).willReturn(1L);
+        messageService.readAllSentMessagesUsingScroll(1L, Long.MAX_VALUE, 10);
+
+        // then
+        verify(messageRepository, times(2)).findSentMessagesByUserIdOrderById(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void otherUserGenerationDoesNotInvalidateCacheTest() {
+        // given
+        given(messageCacheGeneration.getSent(2L)).willReturn(10L);
+        messageService.readAllSentMessagesUsingScroll(2L, Long.MAX_VALUE, 10);
+
+        // when
+        given(messageCacheGeneration.getSent(3L)).willReturn(1L);
+        messageService.readAllSentMessagesUsingScroll(2L, Long.MAX_VALUE, 10);
+
+        // then
+        verify(messageRepository, times(1)).findSentMessagesByUserIdOrderById(eq(2L), anyLong(), any());
+    }
+}
@@ -1,9 +1,13 @@
 package com.kuke.videomeeting.service.message;
 
+import com.kuke.videomeeting.advice.exception.MessageNotFoundException;
 import com.kuke.videomeeting.advice.exception.NotResourceOwnerException;
+import com.kuke.videomeeting.cache.MessageCacheGeneration;
+import com.kuke.videomeeting.cache.MessageHeadCache;
 import com.kuke.videomeeting.domain.DeleteStatus;
 import com.kuke.videomeeting.domain.Message;
 import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.message.MessageBulkDeleteRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageCreateRequestDto;
 import com.kuke.videomeeting.model.dto.message.MessageDto;
 import com.kuke.videomeeting.repository.message.MessageRepository;
@@ -18,19 +22,25 @@ import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class MessageServiceTest {
     @InjectMocks MessageService messageService;
     @Mock MessageRepository messageRepository;
     @Mock UserRepository userRepository;
+    @Mock MessageCacheGeneration messageCacheGeneration;
+    @Mock MessageHeadCache messageHeadCache;
 
     @Test
     public void createMessageTest() {
@@ -50,6 +60,11 @@ class MessageServiceTest {
         assertThat(result.getMsg()).isEqualTo("msg");
         assertThat(result.getSender().getUid()).isEqualTo(sender.getUid());
         assertThat(result.getReceiver().getUid()).isEqualTo(receiver.getUid());
+        verify(messageCacheGeneration).bumpSent(1L);
+        verify(messageCacheGeneration).bumpReceived(2L);
+        verify(messageCacheGeneration, never()).bumpReceived(1L);
+        verify(messageHeadCache).addSent(eq(1L), any());
+        verify(messageHeadCache).addReceived(eq(2L), any());
     }
 
     @Test
@@ -65,6 +80,8 @@ class MessageServiceTest {
 
         // then
         verify(messageRepository, never()).delete(message);
+        verify(messageCacheGeneration).bumpSent(null);
+        verify(messageCacheGeneration, never()).bumpReceived(any());
     }
 
     @Test
@@ -96,6 +113,8 @@ class MessageServiceTest {
 
         // then
         verify(messageRepository, never()).delete(message);
+        verify(messageCacheGeneration).bumpReceived(null);
+        verify(messageCacheGeneration, never()).bumpSent(any());
     }
 
     @Test
@@ -140,29 +159,132 @@ class MessageServiceTest {
                 .isInstanceOf(NotResourceOwnerException.class);
     }
 
+    @Test
+    public void readMessageTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        Message message = Message.createMessage("msg", sender, receiver);
+        message.changeSenderDeleteStatus(DeleteStatus.Y);
+        given(messageRepository.findWithUsersById(1L)).willReturn(Optional.of(message));
+
+        // when
+        MessageDto result = messageService.readMessage(null, 1L);
+
+        // then
+        assertThat(result.getMsg()).isEqualTo("msg");
+    }
+
+    @Test
+    public void readMessageThrownByNotResourceOwnerExceptionTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        given(messageRepository.findWithUsersById(1L)).willReturn(Optional.of(Message.createMessage("msg", sender, receiver)));
+
+        // when, then
+        assertThatThrownBy(() -> messageService.readMessage(1L, 1L))
+                .isInstanceOf(NotResourceOwnerException.class);
+    }
+
+    @Test
+    public void readDeletedMessageThrownByMessageNotFoundExceptionTest() {
+        // given
+        User sender = createUserEntity("sender");
+        User receiver = createUserEntity("receiver");
+        Message message = Message.createMessage("msg", sender, receiver);
+        message.changeSenderDeleteStatus(DeleteStatus.Y);
+        message.changeReceiverDeleteStatus(DeleteStatus.Y);
+        given(messageRepository.findWithUsersById(1L)).willReturn(Optional.of(message));
+
+        // when, then
+        assertThatThrownBy(() -> messageService.readMessage(null, 1L))
+                .isInstanceOf(MessageNotFoundException.class);
+    }
+
     @Test
     public void readAllSentMessagesUsingScrollTest() {
 
         // given
-        given(messageRepository.findSentMessagesByUserIdOrderByCreatedAt(anyLong(), anyLong(), any())).willReturn(new SliceImpl<>(List.of()));
+        given(messageRepository.findSentMessagesByUserIdOrderById(anyLong(), anyLong(), any())).willReturn(new SliceImpl<>(List.of()));
 
         // when
         messageService.readAllSentMessagesUsingScroll(1L, 1L, 1);
 
         // then
-        verify(messageRepository).findSentMessagesByUserIdOrderByCreatedAt(anyLong(), anyLong(), any());
+        verify(messageRepository).findSentMessagesByUserIdOrderById(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void readAllSentMessagesFromHeadCacheTest() {
+        // given
+        given(messageHeadCache.readSent(eq(1L), anyLong(), anyInt(), any())).willReturn(Optional.of(new SliceImpl<>(List.of())));
+
+        // when
+        messageService.readAllSentMessagesUsingScroll(1L, Long.MAX_VALUE, 15);
+
+        // then
+        verifyNoInteractions(messageRepository);
     }
 
     @Test
     public void readAllReceivedMessagesUsingScrollTest() {
         // given
-        given(messageRepository.findReceivedMessagesByUserIdOrderByCreatedAt(anyLong(), anyLong(), any())).willReturn(new SliceImpl<>(List.of()));
+        given(messageRepository.findReceivedMessagesByUserIdOrderById(anyLong(), anyLong(), any())).willReturn(new SliceImpl<>(List.of()));
 
         // when
         messageService.readAllReceivedMessagesUsingScroll(1L, 1L, 1);
 
         // then
-        verify(messageRepository).findReceivedMessagesByUserIdOrderByCreatedAt(anyLong(), anyLong(), any());
+        verify(messageRepository).findReceivedMessagesByUserIdOrderById(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void deleteMessagesBySenderTest() {
+        // given
+        given(messageRepository.deleteReceiverDeletedMessagesBySender(eq(1L), any())).willReturn(1);
+        given(messageRepository.updateSenderDeleteStatus(eq(1L), any())).willReturn(2);
+
+        // when
+        int result = messageService.deleteMessagesBySender(1L, new MessageBulkDeleteRequestDto(List.of(1L, 2L, 3L, 3L)));
+
+        // then
+        assertThat(result).isEqualTo(3);
+        verify(messageRepository).deleteReceiverDeletedMessagesBySender(1L, Set.of(1L, 2L, 3L));
+        verify(messageRepository).updateSenderDeleteStatus(1L, Set.of(1L, 2L, 3L));
+        verify(messageCacheGeneration).bumpSent(1L);
+        verify(messageHeadCache).evictSent(1L);
+        verify(messageCacheGeneration, never()).bumpReceived(any());
+    }
+
+    @Test
+    public void deleteNotOwnedMessagesBySenderTest() {
+        // given
+        given(messageRepository.deleteReceiverDeletedMessagesBySender(eq(1L), any())).willReturn(0);
+        given(messageRepository.updateSenderDeleteStatus(eq(1L), any())).willReturn(0);
+
+        // when
+        int result = messageService.deleteMessagesBySender(1L, new MessageBulkDeleteRequestDto(List.of(1L)));
+
+        // then
+        assertThat(result).isEqualTo(0);
+        verifyNoInteractions(messageCacheGeneration, messageHeadCache);
+    }
+
+    @Test
+    public void deleteMessagesByReceiverTest() {
+        // given
+        given(messageRepository.deleteSenderDeletedMessagesByReceiver(eq(1L), any())).willReturn(0);
+        given(messageRepository.updateReceiverDeleteStatus(eq(1L), any())).willReturn(2);
+
+        // when
+        int result = messageService.deleteMessagesByReceiver(1L, new MessageBulkDeleteRequestDto(List.of(1L, 2L)));
+
+        // then
+        assertThat(result).isEqualTo(2);
+        verify(messageCacheGeneration).bumpReceived(1L);
+        verify(messageHeadCache).evictReceived(1L);
+        verify(messageCacheGeneration, never()).bumpSent(any());
     }
 
     private User createUserEntity(String name) {
@@ -0,0 +1,113 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.model.dto.room.*;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class LobbyEventServiceTest {
+    MediaServerRegistry mediaServerRegistry = mock(MediaServerRegistry.class);
+    LobbyEventService lobbyEventService = new LobbyEventService(mediaServerRegistry, Runnable::run);
+
+    @Test
+    public void diffTest() {
+        // given
+        Map<String, RoomDto> prev = Map.of("1", createRoom("1", "a", 1), "2", createRoom("2", "b", 2), "3", createRoom("3", "c", 0));
+        Map<String, RoomDto> next = Map.of("1", createRoom("1", "a", 1), "2", createRoom("2", "b", 3), "4", createRoom("4", "d", 0));
+
+        // when
+        List<LobbyEventDto> result = LobbyEventService.diff("s", prev, next);
+
+        // then
+        assertThat(result).extracting(LobbyEventDto::getType, LobbyEventDto::getNumber, LobbyEventDto::getNum_participants)
+                .containsExactlyInAnyOrder(
+                        tuple(LobbyEventType.PARTICIPANTS_CHANGED, "2", 3),
+                        tuple(LobbyEventType.ROOM_REMOVED, "3", 0),
+                        tuple(LobbyEventType.ROOM_ADDED, "4", 0));
+    }
+
+    @Test
+    public void publishOnlyWhenChangedTest() {
+        // given
+        lobbyEventService.subscribe();
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+
+        // when
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+
+        // then
+        assertThat(lobbyEventService.getVersion()).isEqualTo(1);
+        assertThat(lobbyEventService.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void keepRoomsOfUnresponsiveServerTest() {
+        // given
+        given(mediaServerRegistry.contains(any())).willReturn(true);
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)), "b", List.of(createRoom("2", "title", 0)))));
+
+        // when
+        // b 서버가 응답하지 못한 동안 제거 이벤트를 보내지 않고, 다시 응답해도 추가 이벤트를 보내지 않음
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)), "b", List.of(createRoom("2", "title", 0)))));
+
+        // then
+        assertThat(lobbyEventService.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    public void removeRoomsOfDeregisteredServerTest() {
+        // given
+        given(mediaServerRegistry.contains("a")).willReturn(true);
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)), "b", List.of(createRoom("2", "title", 0)))));
+
+        // when
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+        lobbyEventService.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+
+        // then
+        // 레지스트리에 없는 b 서버의 방은 한 번만 제거 이벤트를 보냄
+        assertThat(lobbyEventService.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    public void publishDoesNotWaitForSubscribersTest() {
+        // given
+        // 전송을 실행하지 않고 쌓아두는 executor로 느린 구독자를 흉내냄
+        Queue<Runnable> pending = new ArrayDeque<>();
+        LobbyEventService service = new LobbyEventService(mediaServerRegistry, pending::add);
+        service.subscribe();
+
+        // when
+        service.publish(createSnapshot(Map.of("a", List.of(createRoom("1", "title", 0)))));
+
+        // then
+        assertThat(service.getVersion()).isEqualTo(1);
+        assertThat(service.getSubscriberCount()).isEqualTo(0);
+        assertThat(pending).hasSize(2); // 스냅샷, 변경분 순서
+        while (!pending.isEmpty()) pending.poll().run();
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private LobbySnapshotDto createSnapshot(Map<String, List<RoomDto>> rooms) {
+        return new LobbySnapshotDto(rooms, Map.of(), LocalDateTime.now());
+    }
+
+    private RoomDto createRoom(String number, String description, int participants) {
+        RoomDto room = new RoomDto();
+        room.setRoom(number);
+        room.setDescription(description);
+        room.setNum_participants(participants);
+        return room;
+    }
+}
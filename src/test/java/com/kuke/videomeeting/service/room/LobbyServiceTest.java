@@ -0,0 +1,195 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.model.dto.room.LobbySnapshotDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerResultDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerStatus;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LobbyServiceTest {
+    @InjectMocks LobbyService lobbyService;
+    @Mock RoomService roomService;
+    @Mock ParticipantCounterService participantCounterService;
+    @Mock RoomRepository roomRepository;
+    @Mock LobbyEventService lobbyEventService;
+
+    @BeforeEach
+    public void beforeEach() {
+        ReflectionTestUtils.setField(lobbyService, "maxStaleness", 60000L);
+        ReflectionTestUtils.setField(lobbyService, "fullRefreshInterval", 60000L);
+        ReflectionTestUtils.setField(lobbyService, "retryBackoff", 5000L);
+    }
+
+    @Test
+    public void readLobbyServesSnapshotWithoutRemoteCallTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+        lobbyService.refresh();
+
+        // when
+        LobbySnapshotDto result1 = lobbyService.readLobby();
+        LobbySnapshotDto result2 = lobbyService.readLobby();
+
+        // then
+        assertThat(result1).isSameAs(result2);
+        assertThat(result1.getRooms().get("a")).hasSize(1);
+        assertThat(result1.getStatus().get("a")).isEqualTo(MediaServerStatus.OK);
+        verify(roomService, times(1)).readAllRooms();
+        verify(lobbyEventService).publish(result1);
+    }
+
+    @Test
+    public void readLobbyRefreshesStaleSnapshotTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+
+        // when
+        LobbySnapshotDto result = lobbyService.readLobby();
+
+        // then
+        assertThat(result.getRooms()).containsOnlyKeys("a");
+        verify(roomService).readAllRooms();
+    }
+
+    @Test
+    public void refreshFailureKeepsPreviousSnapshotTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+        lobbyService.refresh();
+        LobbySnapshotDto before = lobbyService.readLobby();
+        given(roomService.readAllRooms()).willThrow(new RuntimeException());
+
+        // when
+        lobbyService.refresh();
+
+        // then
+        assertThat(lobbyService.readLobby()).isSameAs(before);
+    }
+
+    @Test
+    public void readLobbyBacksOffAfterRefreshFailureTest() {
+        // given
+        given(roomService.readAllRooms()).willThrow(new RuntimeException());
+
+        // when
+        LobbySnapshotDto result1 = lobbyService.readLobby();
+        LobbySnapshotDto result2 = lobbyService.readLobby();
+
+        // then
+        // 실패 직후에는 다시 조회하지 않고 오래된 스냅샷을 그대로 반환
+        assertThat(result2).isSameAs(result1);
+        assertThat(result2.getRooms()).isEmpty();
+        verify(roomService, times(1)).readAllRooms();
+    }
+
+    @Test
+    public void readLobbyRetriesAfterBackoffTest() {
+        // given
+        ReflectionTestUtils.setField(lobbyService, "retryBackoff", 0L);
+        given(roomService.readAllRooms()).willThrow(new RuntimeException()).willReturn(createResult());
+
+        // when
+        lobbyService.readLobby();
+        LobbySnapshotDto result = lobbyService.readLobby();
+
+        // then
+        assertThat(result.getRooms()).containsOnlyKeys("a");
+        verify(roomService, times(2)).readAllRooms();
+    }
+
+    @Test
+    public void refreshAppliesParticipantCountsBetweenFullRefreshesTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+        lobbyService.refresh();
+        given(participantCounterService.isSynced()).willReturn(true);
+        given(participantCounterService.readCounts("a")).willReturn(Map.of("1234", 3, "5678", 1));
+        given(roomRepository.findAllByNumberIn(Set.of("5678"))).willReturn(List.of(
+                Room.createRoom("5678", "new", "pin", "a", null)));
+
+        // when
+        lobbyService.refresh();
+
+        // then
+        List<RoomDto> rooms = lobbyService.readLobby().getRooms().get("a");
+        assertThat(rooms).extracting(RoomDto::getRoom).containsExactlyInAnyOrder("1234", "5678");
+        assertThat(rooms).extracting(RoomDto::getNum_participants).containsExactlyInAnyOrder(3, 1);
+        verify(roomService, times(1)).readAllRooms();
+    }
+
+    @Test
+    public void refreshLooksUpOnlyChangedUnknownRoomsTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+        lobbyService.refresh();
+        given(participantCounterService.isSynced()).willReturn(true);
+        given(participantCounterService.readCounts("a"))
+                .willReturn(Map.of("1234", 3, "5678", 1, "9999", 0))
+                .willReturn(Map.of("1234", 3, "5678", 2, "9999", 0))
+                .willReturn(Map.of("1234", 3, "5678", 2, "9999", 1));
+        given(roomRepository.findAllByNumberIn(Set.of("5678", "9999"))).willReturn(List.of(
+                Room.createRoom("5678", "new", "pin", "a", null)));
+        given(roomRepository.findAllByNumberIn(Set.of("9999"))).willReturn(List.of());
+
+        // when
+        lobbyService.refresh();
+        lobbyService.refresh();
+        lobbyService.refresh();
+
+        // then
+        // DB에서 찾은 방은 다시 조회하지 않고, 없던 방(9999)은 참여자 수가 바뀐 경우에만 다시 조회
+        List<RoomDto> rooms = lobbyService.readLobby().getRooms().get("a");
+        assertThat(rooms).extracting(RoomDto::getRoom).containsExactlyInAnyOrder("1234", "5678");
+        assertThat(rooms).extracting(RoomDto::getNum_participants).containsExactlyInAnyOrder(3, 2);
+        verify(roomRepository, times(1)).findAllByNumberIn(Set.of("5678", "9999"));
+        verify(roomRepository, times(1)).findAllByNumberIn(Set.of("9999"));
+    }
+
+    @Test
+    public void hidePendingRoomsUntilConfirmedTest() {
+        // given
+        given(roomService.readAllRooms()).willReturn(createResult());
+        lobbyService.refresh();
+        given(participantCounterService.isSynced()).willReturn(true);
+        given(participantCounterService.readCounts("a")).willReturn(Map.of("1234", 3, "5678", 0));
+        Room room = Room.createPendingRoom("5678", "new", "pin", "a", null);
+        given(roomRepository.findAllByNumberIn(Set.of("5678"))).willReturn(List.of(room));
+
+        // when
+        lobbyService.refresh();
+        List<RoomDto> beforeConfirm = lobbyService.readLobby().getRooms().get("a");
+        room.activate();
+        lobbyService.refresh();
+        List<RoomDto> afterConfirm = lobbyService.readLobby().getRooms().get("a");
+
+        // then
+        // 확정되지 않은 방은 노출하지 않고, 참여자 수가 그대로여도 확정된 뒤 다시 조회해서 노출
+        assertThat(beforeConfirm).extracting(RoomDto::getRoom).containsExactly("1234");
+        assertThat(afterConfirm).extracting(RoomDto::getRoom).containsExactlyInAnyOrder("1234", "5678");
+        verify(roomRepository, times(2)).findAllByNumberIn(Set.of("5678"));
+    }
+
+    private MediaServerResultDto<List<RoomDto>> createResult() {
+        RoomDto room = new RoomDto();
+        room.setRoom("1234");
+        return new MediaServerResultDto<>(Map.of("a", List.of(room)), Map.of("a", MediaServerStatus.OK));
+    }
+}
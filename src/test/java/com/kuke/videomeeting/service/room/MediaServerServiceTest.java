@@ -0,0 +1,68 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.advice.exception.MediaServerNotEmptyException;
+import com.kuke.videomeeting.repository.room.RoomOutboxRepository;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServerServiceTest {
+    @Mock MediaServerRegistry mediaServerRegistry;
+    @Mock RoomRepository roomRepository;
+    @Mock RoomOutboxRepository roomOutboxRepository;
+    @Mock RoomPoolService roomPoolService;
+    @InjectMocks MediaServerService mediaServerService;
+
+    @Test
+    public void deregisterTest() {
+        // given
+        given(roomPoolService.readPooledNumbers("a")).willReturn(Set.of());
+
+        // when
+        mediaServerService.deregister("a");
+
+        // then
+        verify(mediaServerRegistry).deregister("a");
+    }
+
+    @Test
+    public void deregisterServerWithRoomsThrownByMediaServerNotEmptyExceptionTest() {
+        // given
+        given(roomRepository.existsByServer("a")).willReturn(true);
+
+        // when, then
+        assertThatThrownBy(() -> mediaServerService.deregister("a")).isInstanceOf(MediaServerNotEmptyException.class);
+        verify(mediaServerRegistry, never()).deregister(any());
+    }
+
+    @Test
+    public void deregisterServerWithPendingRoomsThrownByMediaServerNotEmptyExceptionTest() {
+        // given
+        given(roomOutboxRepository.existsByServer("a")).willReturn(true);
+
+        // when, then
+        assertThatThrownBy(() -> mediaServerService.deregister("a")).isInstanceOf(MediaServerNotEmptyException.class);
+        verify(mediaServerRegistry, never()).deregister(any());
+    }
+
+    @Test
+    public void deregisterServerWithPooledRoomsThrownByMediaServerNotEmptyExceptionTest() {
+        // given
+        given(roomPoolService.readPooledNumbers("a")).willReturn(Set.of("1234"));
+
+        // when, then
+        assertThatThrownBy(() -> mediaServerService.deregister("a")).isInstanceOf(MediaServerNotEmptyException.class);
+        verify(mediaServerRegistry, never()).deregister(any());
+    }
+}
@@ -0,0 +1,116 @@
+package com.kuke.videomeeting.service.room;
+
+import com.kuke.videomeeting.advice.exception.AuthenticationEntryPointException;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantCounterServiceTest {
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock HashOperations<String, Object, Object> hashOperations;
+    @Mock ValueOperations<String, String> valueOperations;
+    @Mock MediaServerRegistry mediaServerRegistry;
+    ParticipantCounterService participantCounterService;
+    String authorization = "Basic " + Base64.getEncoder().encodeToString("janus:pwd".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    public void beforeEach() {
+        participantCounterService = new ParticipantCounterService(redisTemplate, mediaServerRegistry, List.of("https://media"),
+                true, List.of("janus-1"), "janus", "pwd", 1800);
+    }
+
+    @Test
+    public void handleEventsTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        String body = "[" +
+                createEvent("janus-1", "joined", 1234) + "," +
+                createEvent("janus-1", "joined", 1234) + "," +
+                createEvent("janus-1", "leaving", 1234) + "," +
+                createEvent("janus-1", "destroyed", 5678) + "," +
+                createEvent("unknown", "joined", 1234) +
+                "]";
+
+        // when
+        participantCounterService.handleEvents(authorization, body);
+
+        // then
+        verify(hashOperations, times(2)).increment("janus:participants:https://media", "1234", 1);
+        verify(hashOperations).increment("janus:participants:https://media", "1234", -1);
+        verify(hashOperations).delete("janus:participants:https://media", "5678");
+        verifyNoMoreInteractions(hashOperations);
+    }
+
+    @Test
+    public void handleSingleEventTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+
+        // when
+        participantCounterService.handleEvents(authorization, createEvent("janus-1", "created", 1234));
+
+        // then
+        verify(hashOperations).putIfAbsent("janus:participants:https://media", "1234", "0");
+    }
+
+    @Test
+    public void handleEventsThrownByAuthenticationEntryPointExceptionTest() {
+        assertThatThrownBy(() -> participantCounterService.handleEvents("Basic wrong", "[]"))
+                .isInstanceOf(AuthenticationEntryPointException.class);
+        assertThatThrownBy(() -> participantCounterService.handleEvents(null, "[]"))
+                .isInstanceOf(AuthenticationEntryPointException.class);
+        verify(redisTemplate, never()).opsForHash();
+    }
+
+    @Test
+    public void resyncReplacesCountersAtomicallyTest() {
+        // given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        RoomDto room = new RoomDto();
+        room.setRoom("1234");
+        room.setNum_participants(3);
+
+        // when
+        participantCounterService.resync("https://media", List.of(room));
+
+        // then
+        verify(redisTemplate).execute(any(), eq(List.of("janus:participants:https://media")), eq("1234"), eq("3"));
+        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate, never()).opsForHash();
+    }
+
+    @Test
+    public void disabledCounterIsNeverSyncedTest() {
+        // given
+        ParticipantCounterService disabled = new ParticipantCounterService(redisTemplate, mediaServerRegistry, List.of("https://media"),
+                false, List.of(), "", "", 1800);
+
+        // when, then
+        assertThat(disabled.isSynced()).isFalse();
+        verify(redisTemplate, never()).hasKey(any());
+    }
+
+    private String createEvent(String emitter, String event, long room) {
+        return "{\"emitter\":\"" + emitter + "\",\"type\":64,\"session_id\":1,\"handle_id\":2," +
+                "\"event\":{\"plugin\":\"janus.plugin.videoroom\",\"data\":{\"event\":\"" + event + "\",\"room\":" + room + ",\"id\":3}}}";
+    }
+}
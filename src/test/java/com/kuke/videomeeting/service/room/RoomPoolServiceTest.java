@@ -0,0 +1,145 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.model.dto.room.PooledRoomDto;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomPoolServiceTest {
+    @Mock JanusClient janusClient;
+    @Mock MediaServerCapacityLedger capacityLedger;
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock SetOperations<String, String> setOperations;
+    RoomPoolService roomPoolService;
+
+    @BeforeEach
+    public void beforeEach() {
+        roomPoolService = new RoomPoolService(janusClient, new JanusRequestFactory("admin", "secret", 100, 0), capacityLedger,
+                redisTemplate, new Gson(), 3, 2, 100);
+        given(redisTemplate.opsForSet()).willReturn(setOperations);
+    }
+
+    @Test
+    public void claimTest() {
+        // given
+        given(setOperations.pop("janus:room-pool:a")).willReturn("1234:pin");
+        given(janusClient.post(eq("a"), eq(JanusOperation.EDIT), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"edited\",\"room\":1234}}"));
+
+        // when
+        Optional<PooledRoomDto> result = roomPoolService.claim("a", "title");
+
+        // then
+        assertThat(result).contains(new PooledRoomDto("1234", "pin"));
+    }
+
+    @Test
+    public void claimEscapesTitleTest() {
+        // given
+        String title = "title\", \"secret\":\"x";
+        given(setOperations.pop("janus:room-pool:a")).willReturn("1234:pin");
+        given(janusClient.post(eq("a"), eq(JanusOperation.EDIT), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"edited\",\"room\":1234}}"));
+
+        // when
+        roomPoolService.claim("a", title);
+
+        // then
+        // 제목에 따옴표가 있어도 방 secret을 덮어쓰지 못함
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(janusClient).post(eq("a"), eq(JanusOperation.EDIT), captor.capture());
+        JsonObject request = JsonParser.parseString(captor.getValue()).getAsJsonObject().getAsJsonObject("request");
+        assertThat(request.get("new_description").getAsString()).isEqualTo(title);
+        assertThat(request.get("secret").getAsString()).isEqualTo("secret");
+    }
+
+    @Test
+    public void claimEmptyPoolTest() {
+        // given
+        given(setOperations.pop("janus:room-pool:a")).willReturn(null);
+
+        // when
+        Optional<PooledRoomDto> result = roomPoolService.claim("a", "title");
+
+        // then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(janusClient);
+    }
+
+    @Test
+    public void claimEditFailureTest() {
+        // given
+        given(setOperations.pop("janus:room-pool:a")).willReturn("1234:pin");
+        given(janusClient.post(eq("a"), eq(JanusOperation.EDIT), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":426}}"));
+
+        // when
+        Optional<PooledRoomDto> result = roomPoolService.claim("a", "title");
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void replenishTest() {
+        // given
+        given(setOperations.size("janus:room-pool:a")).willReturn(0L);
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true);
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":1234}}"));
+
+        // when
+        roomPoolService.replenish("a");
+
+        // then
+        verify(janusClient, times(2)).post(eq("a"), eq(JanusOperation.CREATE), any());
+        verify(setOperations, times(2)).add(eq("janus:room-pool:a"), startsWith("1234:"));
+    }
+
+    @Test
+    public void replenishStopsWhenServerIsSaturatedTest() {
+        // given
+        given(setOperations.size("janus:room-pool:a")).willReturn(0L);
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true, false);
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":1234}}"));
+
+        // when
+        roomPoolService.replenish("a");
+
+        // then
+        verify(janusClient, times(1)).post(eq("a"), eq(JanusOperation.CREATE), any());
+    }
+
+    @Test
+    public void readPooledNumbersTest() {
+        // given
+        given(setOperations.members("janus:room-pool:a")).willReturn(Set.of("1:pin1", "2:pin2"));
+
+        // when, then
+        assertThat(roomPoolService.readPooledNumbers("a")).containsExactlyInAnyOrder("1", "2");
+    }
+}
@@ -0,0 +1,213 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.Gson;
+import com.kuke.videomeeting.cache.RoomCache;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.model.dto.room.MediaServerResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomSummaryDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoad;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoadTracker;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRebalanceServiceTest {
+    @Mock RoomService roomService;
+    @Mock RoomRepository roomRepository;
+    @Mock JanusClient janusClient;
+    @Mock MediaServerRegistry mediaServerRegistry;
+    @Mock MediaServerLoadTracker loadTracker;
+    @Mock MediaServerCapacityLedger capacityLedger;
+    @Mock ParticipantCounterService participantCounterService;
+    @Mock RoomCache roomCache;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RoomRebalanceService roomRebalanceService;
+
+    @BeforeEach
+    public void beforeEach() {
+        roomRebalanceService = new RoomRebalanceService(roomService, roomRepository, janusClient,
+                new JanusRequestFactory("admin", "secret", 100, 0), mediaServerRegistry,
+                loadTracker, capacityLedger, participantCounterService, roomCache, new Gson(), meterRegistry,
+                true, 20, 5, 0, 100);
+        given(roomService.readAllRoomSummaries()).willReturn(new MediaServerResultDto<>(Map.of(
+                "a", List.of(new RoomSummaryDto("1", 0, "100"), new RoomSummaryDto("2", 30, "100")),
+                "b", List.of()), Map.of()));
+        lenient().when(mediaServerRegistry.getPlaceableServers()).thenReturn(List.of("a", "b"));
+        lenient().when(capacityLedger.filterAvailable(anyList(), eq(100))).thenAnswer(i -> i.getArgument(0));
+        lenient().when(capacityLedger.tryReserve("b", 100)).thenReturn(true);
+        lenient().when(roomRepository.findAllByNumberIn(Set.of("1")))
+                .thenReturn(List.of(Room.createRoom("1", "title", "pin", "a", null)));
+    }
+
+    @Test
+    public void rebalanceTest() throws Exception {
+        // given
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 2, 30, 200, 0L, 0.01));
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+        given(janusClient.post(eq("b"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":1}}"));
+        given(roomRepository.updateServer("1", "a", "b")).willReturn(1);
+        given(roomRepository.findWithUserByNumber("1")).willReturn(Optional.empty());
+        given(janusClient.post(eq("a"), eq(JanusOperation.LIST_PARTICIPANTS), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"participants\",\"room\":1,\"participants\":[]}}"));
+
+        // when
+        int moved = roomRebalanceService.rebalance();
+
+        // then
+        assertThat(moved).isEqualTo(1);
+        verify(janusClient).post(eq("a"), eq(JanusOperation.DESTROY), any());
+        verify(participantCounterService).remove("a", "1");
+        verify(capacityLedger).release("a", 100, 1);
+        verify(loadTracker).reserve("b", 100);
+        assertThat(meterRegistry.get("janus.rebalance.moves").tag("outcome", "moved").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void rebalanceJoinedRollbackTest() throws Exception {
+        // given
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 2, 30, 200, 0L, 0.01));
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+        given(janusClient.post(eq("b"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":1}}"));
+        given(roomRepository.updateServer("1", "a", "b")).willReturn(1);
+        given(roomRepository.findWithUserByNumber("1")).willReturn(Optional.empty());
+        given(janusClient.post(eq("a"), eq(JanusOperation.LIST_PARTICIPANTS), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"participants\",\"room\":1,\"participants\":[{\"id\":1}]}}"));
+
+        // when
+        int moved = roomRebalanceService.rebalance();
+
+        // then
+        assertThat(moved).isEqualTo(0);
+        verify(roomRepository).updateServer("1", "b", "a");
+        verify(janusClient).post(eq("b"), eq(JanusOperation.DESTROY), any());
+        verify(janusClient, never()).post(eq("a"), eq(JanusOperation.DESTROY), any());
+        verify(capacityLedger).release("b", 100, 1);
+        assertThat(meterRegistry.get("janus.rebalance.moves").tag("outcome", "joined").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void rebalanceBelowThresholdTest() throws Exception {
+        // given
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 2, 10, 200, 0L, 0.01));
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+
+        // when
+        int moved = roomRebalanceService.rebalance();
+
+        // then
+        assertThat(moved).isEqualTo(0);
+        verifyNoInteractions(janusClient);
+    }
+
+    @Test
+    public void rebalanceDrainingServerTest() throws Exception {
+        // given
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 2, 10, 200, 0L, 0.01));
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+        given(mediaServerRegistry.getPlaceableServers()).willReturn(List.of("b"));
+        given(mediaServerRegistry.isDraining("a")).willReturn(true);
+        given(janusClient.post(eq("b"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":1}}"));
+        given(roomRepository.updateServer("1", "a", "b")).willReturn(1);
+        given(roomRepository.findWithUserByNumber("1")).willReturn(Optional.empty());
+        given(janusClient.post(eq("a"), eq(JanusOperation.LIST_PARTICIPANTS), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"participants\",\"room\":1,\"participants\":[]}}"));
+
+        // when
+        int moved = roomRebalanceService.rebalance();
+
+        // then
+        assertThat(moved).isEqualTo(1); // 부하 차이가 작아도 drain 중인 서버의 빈 방은 옮김
+    }
+
+    @Test
+    public void rebalanceAdjustsScoresByRoomScoreTest() throws Exception {
+        // given
+        given(roomService.readAllRoomSummaries()).willReturn(new MediaServerResultDto<>(Map.of(
+                "a", List.of(new RoomSummaryDto("1", 0, "100"), new RoomSummaryDto("2", 0, "100"),
+                        new RoomSummaryDto("3", 0, "100"), new RoomSummaryDto("4", 0, "100"),
+                        new RoomSummaryDto("5", 20, "100")),
+                "b", List.of()), Map.of()));
+        given(roomRepository.findAllByNumberIn(Set.of("1", "2", "3", "4"))).willReturn(List.of(
+                Room.createRoom("1", "title", "pin", "a", null),
+                Room.createRoom("2", "title", "pin", "a", null),
+                Room.createRoom("3", "title", "pin", "a", null),
+                Room.createRoom("4", "title", "pin", "a", null)));
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 5, 20, 500, 0L, 0.01)); // 30
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+        given(janusClient.post(eq("b"), eq(JanusOperation.CREATE), any())).willAnswer(i -> {
+            Matcher matcher = Pattern.compile("\"room\":(\\d+)").matcher(i.getArgument(2, String.class));
+            matcher.find();
+            return ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":" + matcher.group(1) + "}}");
+        });
+        given(roomRepository.updateServer(anyString(), eq("a"), eq("b"))).willReturn(1);
+        given(roomRepository.findWithUserByNumber(anyString())).willReturn(Optional.empty());
+        given(janusClient.post(eq("a"), eq(JanusOperation.LIST_PARTICIPANTS), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"participants\",\"participants\":[]}}"));
+
+        // when
+        int moved = roomRebalanceService.rebalance();
+
+        // then
+        // 방 하나는 1 + 100 * 0.01 = 2점이므로 30:0 -> 28:2 -> 26:4 -> 24:6 에서 차이가 20 미만이 됨
+        assertThat(moved).isEqualTo(3);
+    }
+
+    @Test
+    public void rebalanceFailedAttemptsCountTowardLimitTest() throws Exception {
+        // given
+        RoomRebalanceService limited = new RoomRebalanceService(roomService, roomRepository, janusClient,
+                new JanusRequestFactory("admin", "secret", 100, 0), mediaServerRegistry,
+                loadTracker, capacityLedger, participantCounterService, roomCache, new Gson(), meterRegistry,
+                true, 20, 2, 0, 100);
+        given(roomService.readAllRoomSummaries()).willReturn(new MediaServerResultDto<>(Map.of(
+                "a", List.of(new RoomSummaryDto("1", 0, "100"), new RoomSummaryDto("2", 0, "100"),
+                        new RoomSummaryDto("3", 0, "100"), new RoomSummaryDto("4", 30, "100")),
+                "b", List.of()), Map.of()));
+        given(roomRepository.findAllByNumberIn(Set.of("1", "2", "3"))).willReturn(List.of(
+                Room.createRoom("1", "title", "pin", "a", null),
+                Room.createRoom("2", "title", "pin", "a", null),
+                Room.createRoom("3", "title", "pin", "a", null)));
+        given(loadTracker.getLoad("a")).willReturn(new MediaServerLoad("a", 4, 30, 400, 0L, 0.01));
+        given(loadTracker.getLoad("b")).willReturn(MediaServerLoad.empty("b", 0.01));
+        given(janusClient.post(eq("b"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":427}}"));
+
+        // when
+        int moved = limited.rebalance();
+
+        // then
+        // 생성에 실패한 시도도 한 주기의 한도(2)에 포함되어 세 번째 방은 시도하지 않음
+        assertThat(moved).isEqualTo(0);
+        verify(janusClient, times(2)).post(eq("b"), eq(JanusOperation.CREATE), any());
+        assertThat(meterRegistry.get("janus.rebalance.moves").tag("outcome", "create_failure").counter().count()).isEqualTo(2);
+    }
+}
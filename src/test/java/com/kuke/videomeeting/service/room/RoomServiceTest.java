@@ -0,0 +1,357 @@
+package com.kuke.videomeeting.service.room;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kuke.videomeeting.advice.exception.CreateRoomFailureException;
+import com.kuke.videomeeting.advice.exception.MediaServerCommunicationFailureException;
+import com.kuke.videomeeting.advice.exception.MediaServerSaturatedException;
+import com.kuke.videomeeting.advice.exception.ReadAllRoomsFailureException;
+import com.kuke.videomeeting.cache.RoomCache;
+import com.kuke.videomeeting.client.janus.JanusClient;
+import com.kuke.videomeeting.client.janus.JanusOperation;
+import com.kuke.videomeeting.client.janus.JanusRequestFactory;
+import com.kuke.videomeeting.client.janus.JanusResponseParser;
+import com.kuke.videomeeting.domain.Room;
+import com.kuke.videomeeting.domain.RoomOutbox;
+import com.kuke.videomeeting.domain.User;
+import com.kuke.videomeeting.model.dto.room.MediaServerResultDto;
+import com.kuke.videomeeting.model.dto.room.MediaServerStatus;
+import com.kuke.videomeeting.model.dto.room.RoomDestroyResultDto;
+import com.kuke.videomeeting.model.dto.room.RoomDestroyStatus;
+import com.kuke.videomeeting.model.dto.room.PooledRoomDto;
+import com.kuke.videomeeting.model.dto.room.RoomCreateRequestDto;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import com.kuke.videomeeting.model.dto.room.RoomSimpleDto;
+import com.kuke.videomeeting.repository.room.RoomRepository;
+import com.kuke.videomeeting.repository.user.UserRepository;
+import com.kuke.videomeeting.service.file.FileService;
+import com.kuke.videomeeting.service.room.placement.CapacityHistory;
+import com.kuke.videomeeting.service.room.placement.MediaServerCapacityLedger;
+import com.kuke.videomeeting.service.room.placement.MediaServerLoadTracker;
+import com.kuke.videomeeting.service.room.placement.MediaServerRegistry;
+import com.kuke.videomeeting.service.room.placement.PlacementEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomServiceTest {
+    @InjectMocks RoomService roomService;
+    @Mock JanusClient janusClient;
+    @Spy JanusResponseParser janusResponseParser = new JanusResponseParser(new Gson());
+    @Spy JanusRequestFactory janusRequestFactory = new JanusRequestFactory("admin", "secret", 100, 0);
+    @Mock UserRepository userRepository;
+    @Mock FileService fileService;
+    @Mock RoomRepository roomRepository;
+    @Mock PlacementEngine placementEngine;
+    @Mock MediaServerRegistry mediaServerRegistry;
+    @Mock MediaServerCapacityLedger capacityLedger;
+    @Mock MediaServerLoadTracker loadTracker;
+    @Mock CapacityHistory capacityHistory;
+    @Mock ParticipantCounterService participantCounterService;
+    @Mock RoomCache roomCache;
+    @Mock RoomPoolService roomPoolService;
+    @Mock RoomOutboxService roomOutboxService;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void beforeEach() {
+        ReflectionTestUtils.setField(roomService, "gson", new Gson());
+        ReflectionTestUtils.setField(roomService, "meterRegistry", meterRegistry);
+        lenient().when(mediaServerRegistry.getServers()).thenReturn(List.of("a", "b", "c"));
+        lenient().when(mediaServerRegistry.getPlaceableServers()).thenReturn(List.of("a", "b", "c"));
+        ReflectionTestUtils.setField(roomService, "fanOutDeadline", 200L);
+        ReflectionTestUtils.setField(roomService, "destroyParallelism", 2);
+        ReflectionTestUtils.setField(roomService, "publishers", 100);
+    }
+
+    @Test
+    public void createRoomWithPooledRoomTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(any())).willReturn("a");
+        given(roomPoolService.claim("a", "title")).willReturn(Optional.of(new PooledRoomDto("1234", "pin")));
+        given(roomRepository.save(any())).willAnswer(i -> i.getArgument(0));
+
+        // when
+        RoomSimpleDto result = roomService.createRoom(1L, new RoomCreateRequestDto("title"));
+
+        // then
+        assertThat(result.getNumber()).isEqualTo("1234");
+        assertThat(result.getPin()).isEqualTo("pin");
+        assertThat(result.getServer()).isEqualTo("a");
+        verifyNoInteractions(janusClient);
+    }
+
+    @Test
+    public void createRoomConfirmsReservedRoomTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(any())).willReturn("a");
+        given(roomPoolService.claim("a", "title")).willReturn(Optional.empty());
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any())).willAnswer(i -> {
+            String number = ((String) i.getArgument(2)).replaceAll(".*\"room\":(\\d+).*", "$1");
+            return ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":" + number + "}}");
+        });
+        given(roomOutboxService.confirm(any())).willReturn(true);
+
+        // when
+        RoomSimpleDto result = roomService.createRoom(1L, new RoomCreateRequestDto("title"));
+
+        // then
+        ArgumentCaptor<Room> captor = ArgumentCaptor.forClass(Room.class);
+        verify(roomOutboxService).reserve(captor.capture());
+        assertThat(captor.getValue().getNumber()).isEqualTo(result.getNumber());
+        assertThat(captor.getValue().isActive()).isTrue();
+        verify(roomOutboxService).confirm(result.getNumber());
+        verify(roomOutboxService, never()).cancel(any());
+    }
+
+    @Test
+    public void createRoomEscapesTitleTest() {
+        // given
+        String title = "title\", \"publishers\":1000, \"bitrate\":\"0";
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(any())).willReturn("a");
+        given(roomPoolService.claim("a", title)).willReturn(Optional.empty());
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any())).willAnswer(i -> {
+            String number = ((String) i.getArgument(2)).replaceAll(".*\"room\":(\\d+).*", "$1");
+            return ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":" + number + "}}");
+        });
+        given(roomOutboxService.confirm(any())).willReturn(true);
+
+        // when
+        roomService.createRoom(1L, new RoomCreateRequestDto(title));
+
+        // then
+        // 제목에 따옴표가 있어도 다른 필드를 추가하거나 덮어쓰지 못함
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(janusClient).post(eq("a"), eq(JanusOperation.CREATE), captor.capture());
+        JsonObject request = JsonParser.parseString(captor.getValue()).getAsJsonObject().getAsJsonObject("request");
+        assertThat(request.get("description").getAsString()).isEqualTo(title);
+        assertThat(request.get("publishers").getAsInt()).isEqualTo(100);
+        assertThat(request.has("bitrate")).isFalse();
+    }
+
+    @Test
+    public void createRoomCancelsReservationWhenMediaServerRejectsTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(any())).willReturn("a");
+        given(roomPoolService.claim("a", "title")).willReturn(Optional.empty());
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any()))
+                .willReturn(ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"event\",\"error_code\":427}}"));
+
+        // when, then
+        assertThatThrownBy(() -> roomService.createRoom(1L, new RoomCreateRequestDto("title")))
+                .isInstanceOf(MediaServerCommunicationFailureException.class);
+        verify(roomOutboxService).cancel(any());
+        verify(roomOutboxService, never()).confirm(any());
+        verify(capacityLedger).release("a", 100, 1);
+    }
+
+    @Test
+    public void createRoomKeepsReservationWhenResultIsUnknownTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(any())).willReturn("a");
+        given(roomPoolService.claim("a", "title")).willReturn(Optional.empty());
+        given(capacityLedger.tryReserve("a", 100)).willReturn(true);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(janusClient.post(eq("a"), eq(JanusOperation.CREATE), any())).willThrow(new RuntimeException("timeout"));
+
+        // when, then
+        assertThatThrownBy(() -> roomService.createRoom(1L, new RoomCreateRequestDto("title")))
+                .isInstanceOf(CreateRoomFailureException.class);
+        verify(roomOutboxService, never()).cancel(any());
+        verify(capacityLedger, never()).release(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void createRoomRedirectsWhenSelectedServerIsSaturatedTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(List.of("a", "b", "c"), 100)).willReturn(List.of("a", "b", "c"));
+        given(placementEngine.select(List.of("a", "b", "c"))).willReturn("a");
+        given(roomPoolService.claim("a", "title")).willReturn(Optional.empty());
+        given(capacityLedger.tryReserve("a", 100)).willReturn(false);
+        given(capacityLedger.filterAvailable(List.of("b", "c"), 100)).willReturn(List.of("c"));
+        given(placementEngine.select(List.of("c"))).willReturn("c");
+        given(capacityLedger.tryReserve("c", 100)).willReturn(true);
+        given(roomOutboxService.reserve(any())).willAnswer(i -> i.getArgument(0));
+        given(janusClient.post(eq("c"), eq(JanusOperation.CREATE), any())).willAnswer(i -> {
+            String number = ((String) i.getArgument(2)).replaceAll(".*\"room\":(\\d+).*", "$1");
+            return ResponseEntity.ok("{\"janus\":\"success\",\"response\":{\"videoroom\":\"created\",\"room\":" + number + "}}");
+        });
+        given(roomOutboxService.confirm(any())).willReturn(true);
+
+        // when
+        RoomSimpleDto result = roomService.createRoom(1L, new RoomCreateRequestDto("title"));
+
+        // then
+        assertThat(result.getServer()).isEqualTo("c");
+    }
+
+    @Test
+    public void createRoomThrownByMediaServerSaturatedExceptionTest() {
+        // given
+        User user = User.createUser("uid", "password", "username", "nickname", null);
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(capacityLedger.filterAvailable(any(), anyInt())).willReturn(List.of());
+
+        // when, then
+        assertThatThrownBy(() -> roomService.createRoom(1L, new RoomCreateRequestDto("title")))
+                .isInstanceOf(MediaServerSaturatedException.class);
+        verifyNoInteractions(janusClient, roomOutboxService);
+    }
+
+    @Test
+    public void recoverPendingRoomsTest() {
+        // given
+        RoomOutbox outbox = RoomOutbox.createRoomOutbox("1234", "a");
+        given(roomOutboxService.readStaleEntries(any())).willReturn(List.of(outbox));
+        given(janusClient.post(eq("a"), eq(JanusOperation.DESTROY), any())).willReturn(ResponseEntity.ok("{}"));
+
+        // when
+        roomService.recoverPendingRooms();
+
+        // then
+        verify(roomOutboxService).cancel("1234");
+        verify(capacityLedger).release("a", 100, 1);
+    }
+
+    @Test
+    public void readAllRoomsReturnsPartialResultTest() {
+        // given
+        given(janusClient.postAsync(eq("a"), eq(JanusOperation.LIST), any()))
+                .willReturn(CompletableFuture.completedFuture(ResponseEntity.ok(createListResponse("1234", 2))));
+        given(janusClient.postAsync(eq("b"), eq(JanusOperation.LIST), any()))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException()));
+        given(janusClient.postAsync(eq("c"), eq(JanusOperation.LIST), any()))
+                .willReturn(new CompletableFuture<>());
+
+        // when
+        MediaServerResultDto<List<RoomDto>> result = roomService.readAllRooms();
+
+        // then
+        assertThat(result.getResult()).containsOnlyKeys("a");
+        assertThat(result.getResult().get("a").get(0).getNum_participants()).isEqualTo(2);
+        assertThat(result.getStatus().get("a")).isEqualTo(MediaServerStatus.OK);
+        assertThat(result.getStatus().get("b")).isEqualTo(MediaServerStatus.FAILURE);
+        assertThat(result.getStatus().get("c")).isEqualTo(MediaServerStatus.TIMEOUT);
+    }
+
+    @Test
+    public void readAllRoomsThrownByReadAllRoomsFailureExceptionTest() {
+        // given
+        given(janusClient.postAsync(any(), eq(JanusOperation.LIST), any()))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException()));
+
+        // when, then
+        assertThatThrownBy(() -> roomService.readAllRooms())
+                .isInstanceOf(ReadAllRoomsFailureException.class);
+    }
+
+    @Test
+    public void readAllSessionsQueriesEachServerTest() {
+        // given
+        for (String s : List.of("a", "b", "c")) {
+            given(janusClient.postAsync(eq(s), eq(JanusOperation.LIST_SESSIONS), any()))
+                    .willReturn(CompletableFuture.completedFuture(ResponseEntity.ok("{\"sessions\":[\"" + s + "\"]}")));
+        }
+
+        // when
+        MediaServerResultDto<List<String>> result = roomService.readAllSessions();
+
+        // then
+        assertThat(result.getResult().get("a")).containsExactly("a");
+        assertThat(result.getResult().get("b")).containsExactly("b");
+        assertThat(result.getResult().get("c")).containsExactly("c");
+    }
+
+    @Test
+    public void destroyRoomsReportsPerRoomOutcomeTest() {
+        // given
+        given(fileService.deleteFilesInDirectories(List.of("1", "2", "3", "4"))).willReturn(Set.of("2"));
+        given(janusClient.postAsync(eq("a"), eq(JanusOperation.DESTROY), any())).willAnswer(invocation -> {
+            String json = invocation.getArgument(2);
+            return json.contains("\"room\":4") ?
+                    CompletableFuture.failedFuture(new RuntimeException()) :
+                    CompletableFuture.completedFuture(ResponseEntity.ok("{}"));
+        });
+
+        // when
+        List<RoomDestroyResultDto> result = roomService.destroyRooms(Map.of("a", List.of("1", "2", "3", "4")));
+
+        // then
+        assertThat(result).extracting(RoomDestroyResultDto::getNumber, RoomDestroyResultDto::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple("1", RoomDestroyStatus.DESTROYED),
+                        tuple("2", RoomDestroyStatus.FILE_FAILURE),
+                        tuple("3", RoomDestroyStatus.DESTROYED),
+                        tuple("4", RoomDestroyStatus.MEDIA_SERVER_FAILURE));
+        verify(roomRepository).deleteAllByNumberIn(List.of("1", "2", "3", "4"));
+        verify(janusClient, times(3)).postAsync(eq("a"), eq(JanusOperation.DESTROY), any());
+        assertThat(meterRegistry.timer("room.dependency.requests",
+                "operation", "destroy", "dependency", "s3", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void destroyRoomsSkipsRoomsOnDbFailureTest() {
+        // given
+        given(roomRepository.deleteAllByNumberIn(any())).willThrow(new RuntimeException());
+
+        // when
+        List<RoomDestroyResultDto> result = roomService.destroyRooms(Map.of("a", List.of("1")));
+
+        // then
+        assertThat(result).extracting(RoomDestroyResultDto::getStatus).containsExactly(RoomDestroyStatus.DB_FAILURE);
+        verify(janusClient, never()).postAsync(any(), any(), any());
+        assertThat(meterRegistry.timer("room.dependency.requests",
+                "operation", "destroy", "dependency", "mysql", "outcome", "failure").count()).isEqualTo(1);
+    }
+
+    private String createListResponse(String room, int participants) {
+        return "{\"janus\":\"success\",\"response\":{\"videoroom\":\"success\",\"list\":[" +
+                "{\"room\":" + room + ",\"description\":\"title\",\"num_participants\":" + participants + "}]}}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CapacityHistoryTest {
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock HashOperations<String, Object, Object> hashOperations;
+
+    @Test
+    public void persistDoesNotUseCapacityLedgerKeysTest() {
+        // given
+        CapacityHistory capacityHistory = new CapacityHistory(redisTemplate, 60, 24);
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        capacityHistory.record("minute", CapacityMetric.ROOMS, 1, System.currentTimeMillis());
+
+        // when
+        capacityHistory.persist();
+
+        // then
+        // 서버 주소가 "minute"여도 용량 예약 키(janus:capacity:<서버>)와 겹치지 않음
+        verify(hashOperations).putAll(eq("janus:capacity-history:minute"), anyMap());
+        verify(hashOperations).putAll(eq("janus:capacity-history:hour"), anyMap());
+        verify(hashOperations, never()).putAll(startsWith("janus:capacity:"), any());
+    }
+}
@@ -0,0 +1,76 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.model.dto.room.CapacitySampleDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapacityRingBufferTest {
+    private static final long MINUTE = 1000L * 60;
+
+    @Test
+    public void recordAggregatesSamplesInBucketTest() {
+        // given
+        CapacityRingBuffer buffer = new CapacityRingBuffer(MINUTE, 10);
+
+        // when
+        buffer.record(CapacityMetric.ROOMS, 2, 0L);
+        buffer.record(CapacityMetric.ROOMS, 4, MINUTE - 1);
+        buffer.record(CapacityMetric.PARTICIPANTS, 7, MINUTE);
+
+        // then
+        List<CapacitySampleDto> result = buffer.read(0L);
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getRooms()).isEqualTo(3.0);
+        assertThat(result.get(0).getMaxRooms()).isEqualTo(4);
+        assertThat(result.get(0).getParticipants()).isNull();
+        assertThat(result.get(1).getParticipants()).isEqualTo(7.0);
+        assertThat(result.get(1).getRooms()).isNull();
+    }
+
+    @Test
+    public void recordOverwritesOldestBucketTest() {
+        // given
+        CapacityRingBuffer buffer = new CapacityRingBuffer(MINUTE, 3);
+
+        // when
+        for (int i = 0; i < 5; i++) buffer.record(CapacityMetric.SESSIONS, i, MINUTE * i);
+        buffer.record(CapacityMetric.SESSIONS, 100, 0L); // 이미 덮어쓴 버킷의 늦은 샘플
+
+        // then
+        List<CapacitySampleDto> result = buffer.read(0L);
+        assertThat(result).extracting(CapacitySampleDto::getMaxSessions).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    public void readFromTest() {
+        // given
+        CapacityRingBuffer buffer = new CapacityRingBuffer(MINUTE, 10);
+        for (int i = 0; i < 5; i++) buffer.record(CapacityMetric.ROOMS, i, MINUTE * i);
+
+        // when
+        List<CapacitySampleDto> result = buffer.read(MINUTE * 3);
+
+        // then
+        assertThat(result).extracting(CapacitySampleDto::getMaxRooms).containsExactly(3, 4);
+    }
+
+    @Test
+    public void serializeTest() {
+        // given
+        CapacityRingBuffer buffer = new CapacityRingBuffer(MINUTE, 10);
+        buffer.record(CapacityMetric.ROOMS, 2, 0L);
+        buffer.record(CapacityMetric.PARTICIPANTS, 5, MINUTE * 3);
+        CapacityRingBuffer restored = new CapacityRingBuffer(MINUTE, 10);
+
+        // when
+        boolean loaded = restored.load(buffer.toBytes());
+
+        // then
+        assertThat(loaded).isTrue();
+        assertThat(restored.read(0L)).isEqualTo(buffer.read(0L));
+        assertThat(new CapacityRingBuffer(MINUTE, 20).load(buffer.toBytes())).isFalse();
+    }
+}
@@ -0,0 +1,41 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServerCapacityLedgerTest {
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock HashOperations<String, Object, Object> hashOperations;
+    @Mock MediaServerRegistry mediaServerRegistry;
+    MediaServerCapacityLedger capacityLedger;
+
+    @BeforeEach
+    public void beforeEach() {
+        capacityLedger = new MediaServerCapacityLedger(redisTemplate, mediaServerRegistry, 0);
+    }
+
+    @Test
+    public void hasCapacityUsesRegistryLimitTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.multiGet("janus:capacity:c", List.of("publishers", "bitrate"))).willReturn(Arrays.asList("250", null));
+        given(mediaServerRegistry.getMaxPublishers("c")).willReturn(300L);
+
+        // when, then
+        // 실행 중에 등록한 서버도 registry의 용량(기본값 포함)으로 제한
+        assertThat(capacityLedger.hasCapacity("c", 50)).isTrue();
+        assertThat(capacityLedger.hasCapacity("c", 100)).isFalse();
+    }
+}
@@ -0,0 +1,180 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.advice.exception.MediaServerNotDrainedException;
+import com.kuke.videomeeting.advice.exception.MediaServerNotFoundException;
+import com.kuke.videomeeting.model.dto.room.MediaServerState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServerRegistryTest {
+    @Mock StringRedisTemplate redisTemplate;
+    @Mock HashOperations<String, Object, Object> hashOperations;
+    @Mock ValueOperations<String, String> valueOperations;
+    MediaServerRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() {
+        registry = new MediaServerRegistry(redisTemplate, List.of("a", "b"), 30000,
+                List.of(500L), List.of(), List.of(2.0), 300, 0, 1);
+    }
+
+    @Test
+    public void useConfiguredServersBeforeRefreshTest() {
+        // when, then
+        assertThat(registry.getServers()).containsExactly("a", "b");
+        assertThat(registry.getPlaceableServers()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void seedConfiguredServersOnlyOnceTest() {
+        // given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString())).willReturn(true, false);
+
+        // when
+        registry.refresh();
+        registry.refresh();
+
+        // then
+        verify(hashOperations, times(1)).putIfAbsent("janus:servers", "a", "ACTIVE");
+        verify(hashOperations, times(1)).putIfAbsent("janus:servers", "b", "ACTIVE");
+    }
+
+    @Test
+    public void placeOnlyActiveServersWithHeartbeatTest() {
+        // given
+        long now = System.currentTimeMillis();
+        givenRegistry(Map.of("a", "ACTIVE", "b", "DRAINING", "c", "ACTIVE", "d", "ACTIVE"),
+                Map.of("a", String.valueOf(now), "b", String.valueOf(now), "c", String.valueOf(now - 60000)));
+
+        // when
+        registry.refresh();
+
+        // then
+        // drain 중인 서버는 기존 방 조회 대상에는 포함되지만 배정 대상에서는 제외
+        assertThat(registry.getServers()).containsExactly("a", "b", "c", "d");
+        assertThat(registry.getPlaceableServers()).containsExactly("a");
+        assertThat(registry.isDraining("b")).isTrue();
+    }
+
+    @Test
+    public void placeActiveServersWhenNoHeartbeatTest() {
+        // given
+        givenRegistry(Map.of("a", "ACTIVE", "b", "DRAINING"), Map.of());
+
+        // when
+        registry.refresh();
+
+        // then
+        assertThat(registry.getPlaceableServers()).containsExactly("a");
+    }
+
+    @Test
+    public void refreshFailureKeepsPreviousServersTest() {
+        // given
+        given(redisTemplate.opsForValue()).willThrow(new RuntimeException());
+
+        // when
+        registry.refresh();
+
+        // then
+        assertThat(registry.getServers()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void deregisterActiveServerThrownByMediaServerNotDrainedExceptionTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.get("janus:servers", "a")).willReturn(MediaServerState.ACTIVE.name());
+
+        // when, then
+        assertThatThrownBy(() -> registry.deregister("a")).isInstanceOf(MediaServerNotDrainedException.class);
+        verify(hashOperations, never()).delete(any(), any());
+    }
+
+    @Test
+    public void drainUnknownServerThrownByMediaServerNotFoundExceptionTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+
+        // when, then
+        assertThatThrownBy(() -> registry.drain("x")).isInstanceOf(MediaServerNotFoundException.class);
+    }
+
+    @Test
+    public void registeredServerUsesDefaultLimitsTest() {
+        // given
+        givenRegistry(Map.of("a", "ACTIVE", "b", "ACTIVE", "c", "ACTIVE"), Map.of());
+
+        // when
+        registry.refresh();
+
+        // then
+        assertThat(registry.getServers()).containsExactly("a", "b", "c");
+        // 설정 파일에 없는 서버도 제한 없음(0)이 아닌 기본값 사용
+        assertThat(registry.getMaxPublishers("a")).isEqualTo(500);
+        assertThat(registry.getMaxPublishers("b")).isEqualTo(300);
+        assertThat(registry.getMaxPublishers("c")).isEqualTo(300);
+        assertThat(registry.getWeight("a")).isEqualTo(2.0);
+        assertThat(registry.getWeight("c")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void registeredLimitsOverrideConfigurationTest() {
+        // given
+        givenRegistry(Map.of("a", "ACTIVE", "c", "ACTIVE"), Map.of());
+        when(hashOperations.entries("janus:servers:max-publishers")).thenReturn(Map.of("a", "50", "c", "1000"));
+        when(hashOperations.entries("janus:servers:weight")).thenReturn(Map.of("c", "4.0"));
+
+        // when
+        registry.refresh();
+
+        // then
+        assertThat(registry.getMaxPublishers("a")).isEqualTo(50);
+        assertThat(registry.getMaxPublishers("c")).isEqualTo(1000);
+        assertThat(registry.getMaxBitrate("c")).isEqualTo(0);
+        assertThat(registry.getWeight("c")).isEqualTo(4.0);
+    }
+
+    @Test
+    public void registerWithoutLimitsClearsPreviousLimitsTest() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+        // when
+        registry.register("c", 1000L, null, null);
+
+        // then
+        verify(hashOperations).put("janus:servers:max-publishers", "c", "1000");
+        verify(hashOperations).delete("janus:servers:max-bitrate", "c");
+        verify(hashOperations).delete("janus:servers:weight", "c");
+        verify(hashOperations).put("janus:servers", "c", "ACTIVE");
+    }
+
+    private void givenRegistry(Map<Object, Object> states, Map<Object, Object> heartbeats) {
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.entries("janus:servers")).willReturn(states);
+        given(hashOperations.entries("janus:servers:heartbeat")).willReturn(heartbeats);
+        lenient().when(hashOperations.entries("janus:servers:max-publishers")).thenReturn(Map.of());
+        lenient().when(hashOperations.entries("janus:servers:max-bitrate")).thenReturn(Map.of());
+        lenient().when(hashOperations.entries("janus:servers:weight")).thenReturn(Map.of());
+    }
+}
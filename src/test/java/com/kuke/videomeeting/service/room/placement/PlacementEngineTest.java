@@ -0,0 +1,152 @@
+package com.kuke.videomeeting.service.room.placement;
+
+import com.kuke.videomeeting.client.janus.MediaServerCircuitBreaker;
+import com.kuke.videomeeting.client.janus.MediaServerHealthRegistry;
+import com.kuke.videomeeting.model.dto.room.RoomDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PlacementEngineTest {
+    private final List<String> servers = List.of("a", "b", "c");
+    private MediaServerLoadTracker loadTracker;
+    private MediaServerHealthRegistry healthRegistry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        loadTracker = new MediaServerLoadTracker(meterRegistry, 0.01);
+        healthRegistry = new MediaServerHealthRegistry(meterRegistry, 1, 30000, 20);
+        loadTracker.update("a", createRooms(3, 4));
+        loadTracker.update("b", createRooms(1, 1));
+        loadTracker.update("c", createRooms(2, 5));
+    }
+
+    @Test
+    public void leastLoadedStrategyTest() {
+        // given
+        PlacementEngine engine = createEngine("least-loaded", List.of());
+
+        // when, then
+        assertThat(engine.select(servers)).isEqualTo("b");
+    }
+
+    @Test
+    public void weightedStrategyTest() {
+        // given
+        PlacementEngine engine = createEngine("weighted", List.of(1.0, 1.0, 10.0));
+
+        // when, then
+        assertThat(engine.select(servers)).isEqualTo("c");
+    }
+
+    @Test
+    public void powerOfTwoChoicesStrategyNeverPicksMostLoadedTest() {
+        // given
+        PlacementEngine engine = createEngine("power-of-two", List.of());
+
+        // when, then
+        for(int i=0; i<100; i++) assertThat(engine.select(servers)).isNotEqualTo("a");
+    }
+
+    @Test
+    public void reserveSpreadsConsecutiveRoomsTest() {
+        // given
+        PlacementEngine engine = createEngine("least-loaded", List.of());
+
+        // when
+        for(int i=0; i<11; i++) loadTracker.reserve(engine.select(servers), 100);
+
+        // then
+        // 방 하나가 방 개수 1, publisher 100자리(가중치 0.01)로 점수 2씩 증가
+        assertThat(loadTracker.getLoad("b").getRooms()).isEqualTo(9);
+        assertThat(loadTracker.getLoad("b").getPublishers()).isEqualTo(900);
+        assertThat(loadTracker.getLoad("c").getRooms()).isEqualTo(4);
+        assertThat(engine.select(servers)).isEqualTo("c");
+    }
+
+    @Test
+    public void publishersRaiseScoreTest() {
+        // given
+        PlacementEngine engine = createEngine("least-loaded", List.of());
+        List<RoomDto> rooms = createRooms(1, 1);
+        rooms.get(0).setMax_publishers("1000");
+        loadTracker.update("b", rooms);
+
+        // when, then
+        assertThat(loadTracker.getLoad("b").getScore()).isEqualTo(12.0);
+        assertThat(engine.select(servers)).isEqualTo("b");
+        rooms.get(0).setMax_publishers("1500");
+        loadTracker.update("b", rooms);
+        assertThat(engine.select(servers)).isEqualTo("c");
+    }
+
+    @Test
+    public void loadGaugesFollowLastPollTest() {
+        // when
+        loadTracker.update("a", createRooms(1, 7));
+
+        // then
+        assertThat(meterRegistry.get("janus.server.rooms").tag("server", "a").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("janus.server.participants").tag("server", "a").gauge().value()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("janus.server.rooms").tag("server", "c").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void skipOpenCircuitServerTest() {
+        // given
+        PlacementEngine engine = createEngine("least-loaded", List.of());
+        MediaServerCircuitBreaker breaker = healthRegistry.getCircuitBreaker("b");
+        breaker.tryAcquire();
+        breaker.onFailure(10);
+
+        // when, then
+        assertThat(engine.select(servers)).isEqualTo("c");
+    }
+
+    @Test
+    public void allOpenCircuitFallbackTest() {
+        // given
+        PlacementEngine engine = createEngine("least-loaded", List.of());
+        for (String server : servers) {
+            MediaServerCircuitBreaker breaker = healthRegistry.getCircuitBreaker(server);
+            breaker.tryAcquire();
+            breaker.onFailure(10);
+        }
+
+        // when, then
+        assertThat(engine.select(servers)).isEqualTo("b");
+    }
+
+    @Test
+    public void unknownStrategyThrownByIllegalArgumentExceptionTest() {
+        assertThatThrownBy(() -> createEngine("unknown", List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PlacementEngine createEngine(String strategy, List<Double> weight) {
+        List<PlacementStrategy> strategies = List.of(
+                new LeastLoadedPlacementStrategy(),
+                new PowerOfTwoChoicesPlacementStrategy(),
+                new WeightedPlacementStrategy(new MediaServerRegistry(null, servers, 30000, List.of(), List.of(), weight, 0, 0, 1)));
+        return new PlacementEngine(loadTracker, healthRegistry, strategies, strategy);
+    }
+
+    private List<RoomDto> createRooms(int rooms, int participantsPerRoom) {
+        List<RoomDto> result = new ArrayList<>();
+        for(int i=0; i<rooms; i++) {
+            RoomDto room = new RoomDto();
+            room.setRoom(String.valueOf(i));
+            room.setMax_publishers("100");
+            room.setNum_participants(participantsPerRoom);
+            result.add(room);
+        }
+        return result;
+    }
+}
@@ -3,10 +3,12 @@ package com.kuke.videomeeting.service.user;
 import com.kuke.videomeeting.advice.exception.PasswordNotMatchException;
 import com.kuke.videomeeting.advice.exception.UserNicknameAlreadyExistsException;
 import com.kuke.videomeeting.cache.CacheHandler;
+import com.kuke.videomeeting.cache.MessageHeadCache;
 import com.kuke.videomeeting.domain.User;
 import com.kuke.videomeeting.model.dto.user.UserDto;
 import com.kuke.videomeeting.model.dto.user.UserSearchDto;
 import com.kuke.videomeeting.model.dto.user.UserUpdateRequestDto;
+import com.kuke.videomeeting.repository.message.MessageRepository;
 import com.kuke.videomeeting.repository.user.UserRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +35,8 @@ class UserServiceTest {
 
     @Mock private UserRepository userRepository;
     @Mock private CacheHandler cacheHandler;
+    @Mock private MessageHeadCache messageHeadCache;
+    @Mock private MessageRepository messageRepository;
     @InjectMocks private UserService userService;
 
     @Test
@@ -54,12 +59,19 @@ class UserServiceTest {
         // given
         given(userRepository.findById(anyLong())).willReturn(Optional.ofNullable(User.createUser("uid", "password", "username",
                 "nickname", null)));
+        given(messageRepository.findReceiverIdsBySenderId(1L)).willReturn(List.of(2L, 3L));
+        given(messageRepository.findSenderIdsByReceiverId(1L)).willReturn(List.of(4L));
 
         // when
         userService.deleteUser(1L);
 
         // then
+        // 탈퇴한 사용자와 메시지를 주고받은 상대방의 head만 비움
         verify(userRepository).delete(any());
+        verify(messageHeadCache).evictReceived(2L);
+        verify(messageHeadCache).evictReceived(3L);
+        verify(messageHeadCache).evictSent(4L);
+        verify(messageHeadCache, never()).evictSent(2L);
     }
 
     @Test